@@ -6,11 +6,15 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -31,20 +35,61 @@ public class BookingClient extends BaseClient {
         return post("", userId, request);
     }
 
+    public ResponseEntity<Object> createBookings(long userId, List<NewBookingRequest> requests) {
+        return post("/batch", userId, requests);
+    }
+
     public ResponseEntity<Object> approveBooking(long userId, long bookingId, boolean approved) {
         Map<String, Object> params = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, params, null);
     }
 
+    public ResponseEntity<Object> decideBookings(long userId, List<BookingDecision> decisions) {
+        return patch("/owner/decisions", userId, decisions);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state) {
-        return get("?state={state}", userId, Map.of("state", state));
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, Integer size, String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, int from, Integer size, String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<Object> getSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getSummaryByOwner(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamBookings(long userId, BookingState state) {
+        return stream("?state={state}", userId, Map.of("state", state));
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(long userId, BookingState state) {
+        return stream("/owner?state={state}", userId, Map.of("state", state));
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state) {
-        return get("/owner?state={state}", userId, Map.of("state", state));
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, int from, Integer size,
+                                           String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        StringBuilder query = new StringBuilder(path + "?state={state}&from={from}");
+        if (size != null) {
+            parameters.put("size", size);
+            query.append("&size={size}");
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query.append("&cursor={cursor}");
+        }
+        return get(query.toString(), userId, parameters);
     }
 }
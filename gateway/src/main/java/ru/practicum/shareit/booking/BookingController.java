@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 
+import java.util.List;
+
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
 @RestController
@@ -27,6 +35,16 @@ public class BookingController {
         return bookingClient.createBooking(bookerId, request);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestHeader(USER_ID_HEADER) long bookerId,
+                                                 @RequestBody
+                                                 @NotEmpty(message = "Список бронирований не должен быть пустым")
+                                                 @Size(max = 500, message = "В одном запросе не больше 500 бронирований")
+                                                 List<@Valid NewBookingRequest> requests) {
+        log.info("Gateway: createBookings userId={}, count={}", bookerId, requests.size());
+        return bookingClient.createBookings(bookerId, requests);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approveBooking(@RequestHeader(USER_ID_HEADER) long ownerId,
                                                  @Positive @PathVariable("bookingId") long bookingId,
@@ -35,6 +53,16 @@ public class BookingController {
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/owner/decisions")
+    public ResponseEntity<Object> decideBookings(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                 @RequestBody
+                                                 @NotEmpty(message = "Список решений не должен быть пустым")
+                                                 @Size(max = 500, message = "В одном запросе не больше 500 решений")
+                                                 List<@Valid BookingDecision> decisions) {
+        log.info("Gateway: decideBookings ownerId={}, count={}", ownerId, decisions.size());
+        return bookingClient.decideBookings(ownerId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingById(@RequestHeader(USER_ID_HEADER) long userId,
                                                  @Positive @PathVariable("bookingId") long bookingId) {
@@ -44,19 +72,54 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @Positive @RequestParam(name = "size", required = false) Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Gateway: getBookings state={}, userId={}", state, userId);
-        return bookingClient.getBookings(userId, state);
+        log.info("Gateway: getBookings state={}, userId={}, from={}, size={}, cursor={}", state, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
-                                                     @RequestParam(value = "state", defaultValue = "all") String stateParam) {
+                                                     @RequestParam(value = "state", defaultValue = "all") String stateParam,
+                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                                     @Positive @RequestParam(name = "size", required = false) Integer size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Gateway: getBookingsByOwner state={}, ownerId={}, from={}, size={}, cursor={}",
+                state, ownerId, from, size, cursor);
+        return bookingClient.getBookingsByOwner(ownerId, state, from, size, cursor);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getSummary(@RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingClient.getSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getSummaryByOwner(@RequestHeader(USER_ID_HEADER) long ownerId) {
+        return bookingClient.getSummaryByOwner(ownerId);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookings(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Gateway: streamBookings state={}, userId={}", state, userId);
+        return bookingClient.streamBookings(userId, state);
+    }
+
+    @GetMapping(value = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                                       @RequestParam(value = "state", defaultValue = "all") String stateParam) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Gateway: getBookingsByOwner state={}, ownerId={}", state, ownerId);
-        return bookingClient.getBookingsByOwner(ownerId, state);
+        log.info("Gateway: streamBookingsByOwner state={}, ownerId={}", state, ownerId);
+        return bookingClient.streamBookingsByOwner(ownerId, state);
     }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record BookingDecision(
+        @NotNull(message = "Id бронирования не должен быть пустым")
+        @Positive(message = "Id бронирования должен быть положительным")
+        Long bookingId,
+
+        @NotNull(message = "Укажите решение по бронированию")
+        Boolean approved) {
+}
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -69,6 +75,44 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            if (userId != null) {
+                request.getHeaders().set(USER_ID_HEADER, String.valueOf(userId));
+            }
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+
+        try {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                try (response) {
+                    byte[] body = response.getBody().readAllBytes();
+                    return ResponseEntity.status(response.getStatusCode())
+                            .contentType(response.getHeaders().getContentType() != null
+                                    ? response.getHeaders().getContentType()
+                                    : MediaType.APPLICATION_JSON)
+                            .body(out -> out.write(body));
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error reading response from \"" + uri + "\": " + e.getMessage(), e);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (response) {
+                        response.getBody().transferTo(out);
+                    }
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
@@ -6,12 +6,17 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.dto.SearchOperator;
+import ru.practicum.shareit.item.dto.SearchSort;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -40,12 +45,90 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getPersonalItems(long ownerId) {
-        return get("", ownerId);
+    public ResponseEntity<Object> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from.toString(), "to", to.toString());
+        return get("/" + itemId + "/availability?from={from}&to={to}", parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        return get("/search?text={text}", Map.of("text", text));
+    public ResponseEntity<Object> getPersonalItems(long ownerId, int from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        StringBuilder path = new StringBuilder("?from={from}");
+        if (size != null) {
+            parameters.put("size", size);
+            path.append("&size={size}");
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        }
+        return get(path.toString(), ownerId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamPersonalItems(long ownerId) {
+        return stream("", ownerId, Map.of());
+    }
+
+    public ResponseEntity<Object> searchItems(String text, int from, Integer size, String cursor, boolean fuzzy,
+                                              SearchOperator operator, SearchSort sort) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("fuzzy", fuzzy);
+        parameters.put("operator", operator.name());
+        parameters.put("sort", sort.name());
+        StringBuilder path = new StringBuilder(
+                "/search?text={text}&from={from}&fuzzy={fuzzy}&operator={operator}&sort={sort}");
+        if (size != null) {
+            parameters.put("size", size);
+            path.append("&size={size}");
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        }
+        return get(path.toString(), parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamSearchItems(String text) {
+        return stream("/search?text={text}", null, Map.of("text", text));
+    }
+
+    public ResponseEntity<Object> searchFacets(long userId, String text, Long ownerId, Long requestId, Boolean available,
+                                               int from, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        StringBuilder path = new StringBuilder("/search/facets?text={text}&from={from}&size={size}");
+        if (ownerId != null) {
+            parameters.put("ownerId", ownerId);
+            path.append("&ownerId={ownerId}");
+        }
+        if (requestId != null) {
+            parameters.put("requestId", requestId);
+            path.append("&requestId={requestId}");
+        }
+        if (available != null) {
+            parameters.put("available", available);
+            path.append("&available={available}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(String prefix, int size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", parameters);
+    }
+
+    public ResponseEntity<Object> getComments(long itemId, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return get("/" + itemId + "/comments?size={size}", parameters);
+        }
+        parameters.put("cursor", cursor);
+        return get("/" + itemId + "/comments?size={size}&cursor={cursor}", parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, NewCommentRequest comment) {
@@ -3,15 +3,23 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.dto.SearchOperator;
+import ru.practicum.shareit.item.dto.SearchSort;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
 @RestController
@@ -44,16 +52,80 @@ public class ItemController {
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@Positive @PathVariable("itemId") long itemId,
+                                                  @RequestParam("from")
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam("to")
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Gateway: getAvailability itemId={}, from={}, to={}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId) {
-        log.info("Gateway: getPersonalItems ownerId={}", ownerId);
-        return itemClient.getPersonalItems(ownerId);
+    public ResponseEntity<Object> getPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                                   @Positive @RequestParam(name = "size", required = false) Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Gateway: getPersonalItems ownerId={}, from={}, size={}, cursor={}", ownerId, from, size, cursor);
+        return itemClient.getPersonalItems(ownerId, from, size, cursor);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId) {
+        log.info("Gateway: streamPersonalItems ownerId={}", ownerId);
+        return itemClient.streamPersonalItems(ownerId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@NotBlank @RequestParam("text") String text) {
-        log.info("Gateway: searchItems text={}", text);
-        return itemClient.searchItems(text);
+    public ResponseEntity<Object> searchItems(@NotBlank @RequestParam("text") String text,
+                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                              @Positive @RequestParam(name = "size", required = false) Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                              @RequestParam(name = "operator", defaultValue = "and") String operatorParam,
+                                              @RequestParam(name = "sort", defaultValue = "default") String sortParam) {
+        SearchOperator operator = SearchOperator.from(operatorParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operator: " + operatorParam));
+        SearchSort sort = SearchSort.from(sortParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sortParam));
+        log.info("Gateway: searchItems text={}, from={}, size={}, cursor={}, fuzzy={}, operator={}, sort={}",
+                text, from, size, cursor, fuzzy, operator, sort);
+        return itemClient.searchItems(text, from, size, cursor, fuzzy, operator, sort);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchItems(@NotBlank @RequestParam("text") String text) {
+        log.info("Gateway: streamSearchItems text={}", text);
+        return itemClient.streamSearchItems(text);
+    }
+
+    @GetMapping("/search/facets")
+    public ResponseEntity<Object> searchFacets(@RequestHeader(USER_ID_HEADER) long userId,
+                                               @RequestParam(name = "text", defaultValue = "") String text,
+                                               @Positive @RequestParam(name = "ownerId", required = false) Long ownerId,
+                                               @Positive @RequestParam(name = "requestId", required = false) Long requestId,
+                                               @RequestParam(name = "available", required = false) Boolean available,
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Gateway: searchFacets userId={}, text={}, ownerId={}, requestId={}, available={}, from={}, size={}",
+                userId, text, ownerId, requestId, available, from, size);
+        return itemClient.searchFacets(userId, text, ownerId, requestId, available, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(@NotBlank @RequestParam("prefix") String prefix,
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Gateway: suggestItemNames prefix={}, size={}", prefix, size);
+        return itemClient.suggestItemNames(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@Positive @PathVariable("itemId") long itemId,
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") int size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Gateway: getComments itemId={}, size={}, cursor={}", itemId, size, cursor);
+        return itemClient.getComments(itemId, size, cursor);
     }
 
     @PostMapping("/{itemId}/comment")
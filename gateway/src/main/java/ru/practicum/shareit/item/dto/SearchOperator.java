@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum SearchOperator {
+    // Вещь должна содержать все слова запроса
+    AND,
+    // Достаточно любого слова запроса
+    OR;
+
+    public static Optional<SearchOperator> from(String stringOperator) {
+        for (SearchOperator operator : values()) {
+            if (operator.name().equalsIgnoreCase(stringOperator)) {
+                return Optional.of(operator);
+            }
+        }
+        return Optional.empty();
+    }
+}
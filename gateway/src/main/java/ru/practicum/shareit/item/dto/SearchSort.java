@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum SearchSort {
+    // По id, в нечётком режиме сначала вещи с меньшим числом опечаток
+    DEFAULT,
+    // По релевантности
+    RELEVANCE;
+
+    public static Optional<SearchSort> from(String stringSort) {
+        for (SearchSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(stringSort)) {
+                return Optional.of(sort);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.stream.NdjsonStreamer;
 
 import java.util.List;
+import java.util.Objects;
 
+import static ru.practicum.shareit.constants.HeaderConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
 @RestController
@@ -16,6 +27,7 @@ import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     public BookingDto createBooking(@RequestHeader(USER_ID_HEADER) long bookerId,
@@ -23,6 +35,12 @@ public class BookingController {
         return bookingService.createBooking(request, bookerId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestHeader(USER_ID_HEADER) long bookerId,
+                                                   @RequestBody List<NewBookingRequest> requests) {
+        return bookingService.createBookings(requests, bookerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader(USER_ID_HEADER) long ownerId,
                                      @PathVariable("bookingId") long bookingId,
@@ -30,6 +48,12 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, approved, ownerId);
     }
 
+    @PatchMapping("/owner/decisions")
+    public List<BookingDecisionResult> decideBookings(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                      @RequestBody List<BookingDecision> decisions) {
+        return bookingService.decideBookings(decisions, ownerId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader(USER_ID_HEADER) long userId,
                                      @PathVariable("bookingId") long bookingId) {
@@ -37,14 +61,52 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByUser(@RequestHeader(USER_ID_HEADER) long userId,
-                                              @RequestParam(value = "state") BookingState state) {
-        return bookingService.getBookingsByUser(state, userId);
+    public ResponseEntity<List<BookingDto>> getBookingsByUser(@RequestHeader(USER_ID_HEADER) long userId,
+                                                              @RequestParam(value = "state") BookingState state,
+                                                              @RequestParam(value = "from", defaultValue = "0") int from,
+                                                              @RequestParam(value = "size", required = false) Integer size,
+                                                              @RequestParam(value = "cursor", required = false) String cursor) {
+        return toResponse(bookingService.getBookingsByUser(state, userId, from,
+                Objects.requireNonNullElse(size, Integer.MAX_VALUE), cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
-                                               @RequestParam(value = "state") BookingState state) {
-        return bookingService.getBookingsByOwner(state, ownerId);
+    public ResponseEntity<List<BookingDto>> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                               @RequestParam(value = "state") BookingState state,
+                                                               @RequestParam(value = "from", defaultValue = "0") int from,
+                                                               @RequestParam(value = "size", required = false) Integer size,
+                                                               @RequestParam(value = "cursor", required = false) String cursor) {
+        return toResponse(bookingService.getBookingsByOwner(state, ownerId, from,
+                Objects.requireNonNullElse(size, Integer.MAX_VALUE), cursor));
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getSummaryByUser(@RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingService.getSummaryByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getSummaryByOwner(@RequestHeader(USER_ID_HEADER) long ownerId) {
+        return bookingService.getSummaryByOwner(ownerId);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByUser(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                      @RequestParam(value = "state") BookingState state) {
+        return ndjsonStreamer.stream(bookingService.streamBookingsByUser(state, userId));
+    }
+
+    @GetMapping(value = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                                       @RequestParam(value = "state") BookingState state) {
+        return ndjsonStreamer.stream(bookingService.streamBookingsByOwner(state, ownerId));
+    }
+
+    private static ResponseEntity<List<BookingDto>> toResponse(BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.bookings());
     }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+    // Один JDBC-батч, id возвращаются в порядке бронирований, сущности не попадают в контекст
+    List<Long> insertAll(List<Booking> bookings);
+}
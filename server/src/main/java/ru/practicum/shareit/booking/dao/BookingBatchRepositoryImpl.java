@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String INSERT = "insert into bookings (item_id, booker_id, owner_id, status, start_time, end_time) " +
+            "values (:itemId, :bookerId, :ownerId, :status, :start, :end)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        SqlParameterSource[] parameters = bookings.stream()
+                .map(booking -> new MapSqlParameterSource()
+                        .addValue("itemId", booking.getItem().getId())
+                        .addValue("bookerId", booking.getBooker().getId())
+                        .addValue("ownerId", booking.getOwner().getId())
+                        .addValue("status", booking.getStatus().name())
+                        .addValue("start", booking.getStart())
+                        .addValue("end", booking.getEnd()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT, parameters, keyHolder, new String[]{"booking_id"});
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.summary.BookingCounters;
+
+import java.util.List;
+
+public interface BookingCounterRepository {
+    BookingCounters findCounters(long userId);
+
+    void addCounters(List<BookingCounters> changes);
+}
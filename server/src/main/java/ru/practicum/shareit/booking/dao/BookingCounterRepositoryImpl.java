@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookingCounterRepositoryImpl implements BookingCounterRepository {
+    private static final String SELECT = "select user_id, booker_bookings, booker_waiting, booker_rejected, " +
+            "owner_bookings, owner_waiting, owner_rejected from users where user_id = :userId";
+    private static final String UPDATE = "update users set " +
+            "booker_bookings = booker_bookings + :bookerBookings, " +
+            "booker_waiting = booker_waiting + :bookerWaiting, " +
+            "booker_rejected = booker_rejected + :bookerRejected, " +
+            "owner_bookings = owner_bookings + :ownerBookings, " +
+            "owner_waiting = owner_waiting + :ownerWaiting, " +
+            "owner_rejected = owner_rejected + :ownerRejected " +
+            "where user_id = :userId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public BookingCounters findCounters(long userId) {
+        return jdbcTemplate.queryForObject(SELECT, new MapSqlParameterSource("userId", userId),
+                (rs, rowNum) -> new BookingCounters(rs.getLong("user_id"), rs.getLong("booker_bookings"),
+                        rs.getLong("booker_waiting"), rs.getLong("booker_rejected"), rs.getLong("owner_bookings"),
+                        rs.getLong("owner_waiting"), rs.getLong("owner_rejected")));
+    }
+
+    @Override
+    public void addCounters(List<BookingCounters> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] parameters = changes.stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("userId", change.userId())
+                        .addValue("bookerBookings", change.bookerBookings())
+                        .addValue("bookerWaiting", change.bookerWaiting())
+                        .addValue("bookerRejected", change.bookerRejected())
+                        .addValue("ownerBookings", change.ownerBookings())
+                        .addValue("ownerWaiting", change.ownerWaiting())
+                        .addValue("ownerRejected", change.ownerRejected()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPDATE, parameters);
+    }
+}
@@ -1,44 +1,55 @@
 package ru.practicum.shareit.booking.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemBookingDatesDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime before, LocalDateTime after);
-
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime before, LocalDateTime after);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now);
-
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime now);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime now);
-
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime now);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository,
+        BookingCounterRepository {
+    @Query("select new ru.practicum.shareit.item.dto.ItemBookingDatesDto(i.id, " +
+            "(select b.start from Booking b where b.item.id = i.id and b.end < :now order by b.end desc limit 1), " +
+            "(select min(b.start) from Booking b where b.item.id = i.id and b.start > :now)) " +
+            "from Item i " +
+            "where i.id in :itemIds")
+    List<ItemBookingDatesDto> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                      @Param("now") LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.item.dto.TimeIntervalDto(b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses and b.start < :to and b.end > :from " +
+            "order by b.start")
+    List<TimeIntervalDto> findPeriodsByItemIdAndStatusInBetween(@Param("itemId") Long itemId,
+                                                                @Param("statuses") Collection<BookingStatus> statuses,
+                                                                @Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to);
 
     @Query("select new ru.practicum.shareit.booking.dto.BookingForItemDto(" +
             "b.id, b.start, b.end, b.status, b.item.id, b.item.name, b.booker.id) " +
             "from Booking b " +
-            "where b.item.id in :itemIds")
-    List<BookingForItemDto> findByItemIdIn(@Param("itemIds") List<Long> itemIds);
+            "where b.item.id in :itemIds and b.status in :statuses and b.start < :to and b.end > :from")
+    List<BookingForItemDto> findPeriodsByItemIdInAndStatusInBetween(@Param("itemIds") Collection<Long> itemIds,
+                                                                   @Param("statuses") Collection<BookingStatus> statuses,
+                                                                   @Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int decideIfWaiting(@Param("bookingId") Long bookingId, @Param("status") BookingStatus status);
 
     boolean existsByItemIdAndBookerIdAndEndBeforeAndStatus(
             Long itemId, Long bookerId, LocalDateTime end, BookingStatus status);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+            Long itemId, Collection<BookingStatus> statuses, LocalDateTime end, LocalDateTime start);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+// status — код ответа, который вернул бы запрос на одно бронирование
+public record BookingBatchResult(
+        int index,
+        int status,
+        BookingDto booking,
+        String error
+) {
+    public static BookingBatchResult created(int index, BookingDto booking) {
+        return new BookingBatchResult(index, 200, booking, null);
+    }
+
+    public static BookingBatchResult failed(int index, int status, String error) {
+        return new BookingBatchResult(index, status, null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.dto;
+
+public record BookingDecision(
+        long bookingId,
+        boolean approved
+) {
+}
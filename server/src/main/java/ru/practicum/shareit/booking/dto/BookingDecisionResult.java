@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+// status — код ответа, который вернул бы запрос на одно бронирование
+public record BookingDecisionResult(
+        long bookingId,
+        int status,
+        String bookingStatus,
+        String error
+) {
+    public static BookingDecisionResult applied(long bookingId, String bookingStatus) {
+        return new BookingDecisionResult(bookingId, 200, bookingStatus, null);
+    }
+
+    public static BookingDecisionResult failed(long bookingId, int status, String error) {
+        return new BookingDecisionResult(bookingId, status, null, error);
+    }
+}
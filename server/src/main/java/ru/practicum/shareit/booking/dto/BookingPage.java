@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+public record BookingPage(List<BookingDto> bookings, String nextCursor) {
+}
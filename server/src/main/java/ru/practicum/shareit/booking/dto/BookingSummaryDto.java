@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.Map;
+
+public record BookingSummaryDto(Map<BookingState, Long> counts) {
+}
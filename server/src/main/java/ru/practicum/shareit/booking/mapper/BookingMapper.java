@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -13,6 +14,14 @@ import ru.practicum.shareit.user.model.User;
 public interface BookingMapper {
     BookingDto toDto(Booking booking);
 
+    @Mapping(target = "id", source = "id")
+    BookingDto toDto(Booking booking, Long id);
+
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "booker.id", source = "bookerId")
+    BookingDto toDto(BookingForItemDto booking);
+
     @Mapping(target = "id", ignore = true)
     Booking fromNewRequest(NewBookingRequest request, Item item, User booker, BookingStatus status);
 }
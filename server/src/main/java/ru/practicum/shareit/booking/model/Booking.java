@@ -29,6 +29,11 @@ public class Booking {
     @ToString.Exclude
     private User booker;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    @ToString.Exclude
+    private User owner;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
@@ -38,22 +43,18 @@ public class Booking {
     @Column(name = "end_time", nullable = false)
     private LocalDateTime end;
 
+    @Version
+    private Long version;
+
     public Booking(Item item, User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
         this.item = item;
         this.booker = booker;
+        this.owner = item.getOwner();
         this.start = start;
         this.end = end;
         this.status = status;
     }
 
-    public void approve() {
-        this.status = BookingStatus.APPROVED;
-    }
-
-    public void reject() {
-        this.status = BookingStatus.REJECTED;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record BookingCursor(LocalDateTime start, long id) {
+
+    public static BookingCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('/');
+            if (separator < 0) {
+                throw new IllegalArgumentException(value);
+            }
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid booking cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String value = start + "/" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.service;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.service.strategy.BookingFetchStrategy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class BookingPredicateBuilder {
+    private final Map<BookingState, BookingFetchStrategy> strategies;
+
+    public BookingPredicateBuilder(List<BookingFetchStrategy> strategies) {
+        this.strategies = strategies.stream()
+                .collect(Collectors.toMap(BookingFetchStrategy::getState, strategy -> strategy));
+    }
+
+    public Predicate build(BookingState state, BookingRole role, long userId, LocalDateTime now) {
+        QBooking booking = QBooking.booking;
+        BooleanBuilder where = new BooleanBuilder(role == BookingRole.OWNER
+                ? booking.owner.id.eq(userId)
+                : booking.booker.id.eq(userId));
+        return where.and(strategies.get(state).condition(booking, now));
+    }
+
+    // Условие start_time <= :start ограничивает диапазон индекса, одно OR применялось бы только как фильтр
+    public Predicate after(BookingCursor cursor) {
+        QBooking booking = QBooking.booking;
+        return booking.start.loe(cursor.start())
+                .and(booking.start.lt(cursor.start()).or(booking.id.lt(cursor.id())));
+    }
+}
@@ -1,22 +1,40 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.stream.StreamSource;
 
 import java.util.List;
 
 public interface BookingService {
     BookingDto createBooking(NewBookingRequest request, long bookerId);
 
+    List<BookingBatchResult> createBookings(List<NewBookingRequest> requests, long bookerId);
+
     BookingDto approveBooking(long bookingId, boolean approved, long ownerId);
 
+    List<BookingDecisionResult> decideBookings(List<BookingDecision> decisions, long ownerId);
+
     BookingDto getBookingById(long bookingId, long userId);
 
-    List<BookingDto> getBookingsByUser(BookingState state, long userId);
+    BookingPage getBookingsByUser(BookingState state, long userId, int from, int size, String cursor);
+
+    BookingPage getBookingsByOwner(BookingState state, long ownerId, int from, int size, String cursor);
+
+    BookingSummaryDto getSummaryByUser(long userId);
+
+    BookingSummaryDto getSummaryByOwner(long ownerId);
+
+    StreamSource<BookingDto> streamBookingsByUser(BookingState state, long userId);
 
-    List<BookingDto> getBookingsByOwner(BookingState state, long ownerId);
+    StreamSource<BookingDto> streamBookingsByOwner(BookingState state, long ownerId);
 
     Booking getBookingByIdOrThrow(long bookingId);
 }
@@ -1,51 +1,94 @@
 package ru.practicum.shareit.booking.service;
 
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.service.strategy.BookingFetchStrategy;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.summary.BookingCounterChanges;
+import ru.practicum.shareit.booking.summary.BookingCounters;
+import ru.practicum.shareit.booking.summary.BookingSummaryEntry;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.stream.StreamSource;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 @Slf4j
 public class BookingServiceImpl implements BookingService {
-    private final Map<BookingState, BookingFetchStrategy> strategies;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingPredicateBuilder predicateBuilder;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final ItemService itemService;
     private final UserService userService;
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
 
-    public BookingServiceImpl(List<BookingFetchStrategy> strategies,
+    public BookingServiceImpl(BookingPredicateBuilder predicateBuilder,
                               BookingRepository bookingRepository,
                               BookingMapper bookingMapper,
                               ItemService itemService,
-                              UserService userService) {
-        this.strategies = strategies.stream()
-                .collect(Collectors.toMap(BookingFetchStrategy::getState, strategy -> strategy));
+                              UserService userService,
+                              JPAQueryFactory queryFactory,
+                              EntityManager entityManager) {
+        this.predicateBuilder = predicateBuilder;
         this.bookingRepository = bookingRepository;
         this.bookingMapper = bookingMapper;
         this.itemService = itemService;
         this.userService = userService;
+        this.queryFactory = queryFactory;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -53,20 +96,20 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto createBooking(NewBookingRequest request, long bookerId) {
         User booker = userService.getUserByIdOrThrow(bookerId);
         Item item = itemService.getItemByIdOrThrow(request.itemId());
-        if (!item.getAvailable()) {
-            throw new BadRequestException("Item is not available for booking");
-        }
+        checkNewBooking(request, item, booker);
 
-        if (Objects.equals(item.getOwner().getId(), booker.getId())) {
-            throw new ValidationException("Owner cannot book their own item");
-        }
-
-        if (request.start().isAfter(request.end())) {
-            throw new ValidationException("Start date must be before end date");
+        entityManager.lock(item, LockModeType.PESSIMISTIC_WRITE);
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(), ACTIVE_STATUSES, request.end(), request.start())) {
+            throw new ValidationException("Item is already booked for the requested period");
         }
 
         Booking booking = bookingMapper.fromNewRequest(request, item, booker, BookingStatus.WAITING);
         booking = bookingRepository.save(booking);
+        itemService.refreshBookingDates(List.of(item.getId()));
+        BookingCounterChanges counters = new BookingCounterChanges();
+        counters.created(booker.getId(), item.getOwner().getId(), booking.getStatus());
+        bookingRepository.addCounters(counters.toList());
         log.info("Отправлен запрос на бронирование с id {} вещи с id {} пользователем с id {}",
                 booking.getId(),
                 item.getId(),
@@ -74,11 +117,63 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createBookings(List<NewBookingRequest> requests, long bookerId) {
+        User booker = userService.getUserByIdOrThrow(bookerId);
+        Map<Long, Item> items = lockItems(requests.stream().map(NewBookingRequest::itemId).collect(Collectors.toSet()));
+        Map<Long, List<TimeIntervalDto>> busy = findBusyPeriods(items.keySet(), requests);
+
+        BookingBatchResult[] results = new BookingBatchResult[requests.size()];
+        List<Integer> accepted = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            NewBookingRequest request = requests.get(i);
+            Item item = items.get(request.itemId());
+            try {
+                if (item == null) {
+                    throw new NotFoundException("Item not found with ID: " + request.itemId());
+                }
+                checkNewBooking(request, item, booker);
+                List<TimeIntervalDto> periods = busy.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (periods.stream().anyMatch(period ->
+                        period.start().isBefore(request.end()) && period.end().isAfter(request.start()))) {
+                    throw new ValidationException("Item is already booked for the requested period");
+                }
+                periods.add(new TimeIntervalDto(request.start(), request.end()));
+                accepted.add(i);
+                bookings.add(bookingMapper.fromNewRequest(request, item, booker, BookingStatus.WAITING));
+            } catch (NotFoundException e) {
+                results[i] = BookingBatchResult.failed(i, HttpStatus.NOT_FOUND.value(), e.getMessage());
+            } catch (BadRequestException e) {
+                results[i] = BookingBatchResult.failed(i, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            } catch (ValidationException e) {
+                results[i] = BookingBatchResult.failed(i, HttpStatus.CONFLICT.value(), e.getMessage());
+            }
+        }
+
+        List<Long> ids = bookingRepository.insertAll(bookings);
+        itemService.refreshBookingDates(bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        BookingCounterChanges counters = new BookingCounterChanges();
+        for (int j = 0; j < bookings.size(); j++) {
+            Booking booking = bookings.get(j);
+            int index = accepted.get(j);
+            results[index] = BookingBatchResult.created(index, bookingMapper.toDto(booking, ids.get(j)));
+            counters.created(booker.getId(), booking.getOwner().getId(), booking.getStatus());
+        }
+        bookingRepository.addCounters(counters.toList());
+        log.info("Пакетный запрос на бронирование пользователем с id {}: создано {} из {}",
+                booker.getId(), bookings.size(), requests.size());
+        return List.of(results);
+    }
+
     @Override
     @Transactional
     public BookingDto approveBooking(long bookingId, boolean approved, long ownerId) {
         Booking booking = getBookingByIdOrThrow(bookingId);
-        if (booking.getItem().getOwner().getId() != ownerId) {
+        if (booking.getOwner().getId() != ownerId) {
             throw new ForbiddenException("Only the owner can approve or reject the booking");
         }
 
@@ -86,13 +181,15 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Booking has already been approved or rejected");
         }
 
-        if (approved) {
-            booking.approve();
-        } else {
-            booking.reject();
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.decideIfWaiting(bookingId, status) == 0) {
+            throw new ValidationException("Booking has already been approved or rejected");
         }
 
-        booking = bookingRepository.save(booking);
+        BookingCounterChanges counters = new BookingCounterChanges();
+        counters.decided(booking.getBooker().getId(), ownerId, BookingStatus.WAITING, status);
+        bookingRepository.addCounters(counters.toList());
+        booking = getBookingByIdOrThrow(bookingId);
         log.info("Бронирование с id {} вещи с id {} обновлено. Статус: {}",
                 booking.getId(),
                 booking.getItem().getId(),
@@ -100,33 +197,119 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toDto(booking);
     }
 
+    // Бронирования блокируются до UPDATE, поэтому параллельное одиночное подтверждение увидит принятое решение
+    @Override
+    @Transactional
+    public List<BookingDecisionResult> decideBookings(List<BookingDecision> decisions, long ownerId) {
+        QBooking booking = QBooking.booking;
+        Set<Long> ids = decisions.stream().map(BookingDecision::bookingId).collect(Collectors.toSet());
+        Map<Long, BookingSummaryEntry> bookings = ids.isEmpty() ? Map.of() : queryFactory
+                .select(Projections.constructor(BookingSummaryEntry.class, booking.id, booking.booker.id,
+                        booking.owner.id, booking.start, booking.end, booking.status))
+                .from(booking)
+                .where(booking.id.in(ids))
+                .orderBy(booking.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(BookingSummaryEntry::id, Function.identity()));
+
+        List<BookingDecisionResult> results = new ArrayList<>();
+        Map<Long, BookingStatus> decided = new LinkedHashMap<>();
+        for (BookingDecision decision : decisions) {
+            BookingSummaryEntry entry = bookings.get(decision.bookingId());
+            if (entry == null) {
+                results.add(BookingDecisionResult.failed(decision.bookingId(), HttpStatus.NOT_FOUND.value(),
+                        "Booking not found with ID: " + decision.bookingId()));
+            } else if (entry.ownerId() != ownerId) {
+                results.add(BookingDecisionResult.failed(decision.bookingId(), HttpStatus.FORBIDDEN.value(),
+                        "Only the owner can approve or reject the booking"));
+            } else if (entry.status() != BookingStatus.WAITING || decided.containsKey(entry.id())) {
+                results.add(BookingDecisionResult.failed(decision.bookingId(), HttpStatus.CONFLICT.value(),
+                        "Booking has already been approved or rejected"));
+            } else {
+                BookingStatus status = decision.approved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+                decided.put(entry.id(), status);
+                results.add(BookingDecisionResult.applied(decision.bookingId(), status.name()));
+            }
+        }
+        if (decided.isEmpty()) {
+            return results;
+        }
+
+        List<Long> approvedIds = decided.entrySet().stream()
+                .filter(decision -> decision.getValue() == BookingStatus.APPROVED)
+                .map(Map.Entry::getKey)
+                .toList();
+        Expression<BookingStatus> status = approvedIds.isEmpty() ? statusLiteral(BookingStatus.REJECTED)
+                : approvedIds.size() == decided.size() ? statusLiteral(BookingStatus.APPROVED)
+                : new CaseBuilder().when(booking.id.in(approvedIds)).then(statusLiteral(BookingStatus.APPROVED))
+                .otherwise(statusLiteral(BookingStatus.REJECTED));
+        entityManager.flush();
+        long updated = queryFactory.update(booking)
+                .set(booking.status, status)
+                .set(booking.version, booking.version.add(1))
+                .where(booking.id.in(decided.keySet()),
+                        booking.status.eq(BookingStatus.WAITING),
+                        booking.owner.id.eq(ownerId))
+                .execute();
+        entityManager.clear();
+        if (updated != decided.size()) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, decided.keySet());
+        }
+
+        BookingCounterChanges counters = new BookingCounterChanges();
+        decided.forEach((bookingId, newStatus) -> counters.decided(
+                bookings.get(bookingId).bookerId(), ownerId, BookingStatus.WAITING, newStatus));
+        bookingRepository.addCounters(counters.toList());
+        log.info("Владелец с id {} принял решения по бронированиям: применено {} из {}",
+                ownerId, decided.size(), decisions.size());
+        return results;
+    }
+
     @Override
     public BookingDto getBookingById(long bookingId, long userId) {
         Booking booking = getBookingByIdOrThrow(bookingId);
-        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
+        if (booking.getBooker().getId() != userId && booking.getOwner().getId() != userId) {
             throw new ValidationException("Access denied: User is neither the booker nor the item owner");
         }
         return bookingMapper.toDto(booking);
     }
 
     @Override
-    public List<BookingDto> getBookingsByUser(BookingState state, long bookerId) {
+    public BookingPage getBookingsByUser(BookingState state, long bookerId, int from, int size, String cursor) {
         userService.getUserByIdOrThrow(bookerId);
+        return fetchPage(state, BookingRole.BOOKER, bookerId, from, size, cursor);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        return strategies.get(state).fetchBookings(bookerId, false, now).stream()
-                .map(bookingMapper::toDto)
-                .toList();
+    @Override
+    public BookingPage getBookingsByOwner(BookingState state, long ownerId, int from, int size, String cursor) {
+        userService.getUserByIdOrThrow(ownerId);
+        return fetchPage(state, BookingRole.OWNER, ownerId, from, size, cursor);
     }
 
     @Override
-    public List<BookingDto> getBookingsByOwner(BookingState state, long ownerId) {
+    public BookingSummaryDto getSummaryByUser(long bookerId) {
+        userService.getUserByIdOrThrow(bookerId);
+        return summary(BookingRole.BOOKER, bookerId);
+    }
+
+    @Override
+    public BookingSummaryDto getSummaryByOwner(long ownerId) {
         userService.getUserByIdOrThrow(ownerId);
+        return summary(BookingRole.OWNER, ownerId);
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        return strategies.get(state).fetchBookings(ownerId, true, now).stream()
-                .map(bookingMapper::toDto)
-                .toList();
+    @Override
+    public StreamSource<BookingDto> streamBookingsByUser(BookingState state, long bookerId) {
+        userService.getUserByIdOrThrow(bookerId);
+        return consumer -> streamBookings(state, BookingRole.BOOKER, bookerId, consumer);
+    }
+
+    @Override
+    public StreamSource<BookingDto> streamBookingsByOwner(BookingState state, long ownerId) {
+        userService.getUserByIdOrThrow(ownerId);
+        return consumer -> streamBookings(state, BookingRole.OWNER, ownerId, consumer);
     }
 
     @Override
@@ -134,4 +317,112 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ValidationException("Booking not found with ID: " + bookingId));
     }
+
+    private void checkNewBooking(NewBookingRequest request, Item item, User booker) {
+        if (!item.getAvailable()) {
+            throw new BadRequestException("Item is not available for booking");
+        }
+
+        if (Objects.equals(item.getOwner().getId(), booker.getId())) {
+            throw new ValidationException("Owner cannot book their own item");
+        }
+
+        if (request.start().isAfter(request.end())) {
+            throw new ValidationException("Start date must be before end date");
+        }
+    }
+
+    // Hibernate не выводит тип параметров в ветках CASE, поэтому статусы подставляются литералами
+    private static Expression<BookingStatus> statusLiteral(BookingStatus status) {
+        return Expressions.enumTemplate(BookingStatus.class, BookingStatus.class.getName() + "." + status.name());
+    }
+
+    private Map<Long, Item> lockItems(Set<Long> itemIds) {
+        QItem item = QItem.item;
+        return queryFactory.selectFrom(item)
+                .where(item.id.in(itemIds))
+                .orderBy(item.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    private Map<Long, List<TimeIntervalDto>> findBusyPeriods(Set<Long> itemIds, List<NewBookingRequest> requests) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime from = requests.stream().map(NewBookingRequest::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = requests.stream().map(NewBookingRequest::end).max(Comparator.naturalOrder()).orElseThrow();
+        return bookingRepository.findPeriodsByItemIdInAndStatusInBetween(itemIds, ACTIVE_STATUSES, from, to).stream()
+                .collect(Collectors.groupingBy(BookingForItemDto::itemId, HashMap::new, Collectors.mapping(
+                        booking -> new TimeIntervalDto(booking.start(), booking.end()),
+                        Collectors.toCollection(ArrayList::new))));
+    }
+
+    private BookingSummaryDto summary(BookingRole role, long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingCounters counters = bookingRepository.findCounters(userId);
+        boolean owner = role == BookingRole.OWNER;
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, owner ? counters.ownerBookings() : counters.bookerBookings());
+        counts.put(BookingState.WAITING, owner ? counters.ownerWaiting() : counters.bookerWaiting());
+        counts.put(BookingState.REJECTED, owner ? counters.ownerRejected() : counters.bookerRejected());
+        QBooking booking = QBooking.booking;
+        for (BookingState state : EnumSet.of(BookingState.CURRENT, BookingState.PAST, BookingState.FUTURE)) {
+            counts.put(state, queryFactory.select(booking.count())
+                    .from(booking)
+                    .where(predicateBuilder.build(state, role, userId, now))
+                    .fetchOne());
+        }
+        return new BookingSummaryDto(counts);
+    }
+
+    private BookingPage fetchPage(BookingState state, BookingRole role, long userId, int from, int size, String cursor) {
+        if (from < 0 || size <= 0) {
+            throw new BadRequestException("Parameter from must not be negative and size must be positive");
+        }
+        // без size отдаётся весь список, лишняя строка для курсора не нужна
+        JPAQuery<BookingForItemDto> query = selectBookings(state, role, userId, LocalDateTime.now())
+                .limit(size == Integer.MAX_VALUE ? size : size + 1);
+        if (cursor == null) {
+            query.offset(from);
+        } else {
+            query.where(predicateBuilder.after(BookingCursor.decode(cursor)));
+        }
+
+        List<BookingForItemDto> rows = query.fetch();
+        if (rows.size() <= size) {
+            return new BookingPage(rows.stream().map(bookingMapper::toDto).toList(), null);
+        }
+        BookingForItemDto last = rows.get(size - 1);
+        return new BookingPage(rows.subList(0, size).stream().map(bookingMapper::toDto).toList(),
+                new BookingCursor(last.start(), last.id()).encode());
+    }
+
+    private void streamBookings(BookingState state,
+                                BookingRole role,
+                                long userId,
+                                Consumer<? super BookingDto> consumer) {
+        try (Stream<BookingForItemDto> rows = selectBookings(state, role, userId, LocalDateTime.now())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .stream()) {
+            rows.map(bookingMapper::toDto).forEach(consumer);
+        }
+    }
+
+    private JPAQuery<BookingForItemDto> selectBookings(BookingState state,
+                                                       BookingRole role,
+                                                       long userId,
+                                                       LocalDateTime now) {
+        QBooking booking = QBooking.booking;
+        QItem item = QItem.item;
+        return queryFactory
+                .select(Projections.constructor(BookingForItemDto.class,
+                        booking.id, booking.start, booking.end, booking.status, item.id, item.name, booking.booker.id))
+                .from(booking)
+                .join(booking.item, item)
+                .where(predicateBuilder.build(state, role, userId, now))
+                .orderBy(booking.start.desc(), booking.id.desc());
+    }
 }
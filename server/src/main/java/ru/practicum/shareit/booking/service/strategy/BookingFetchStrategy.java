@@ -1,13 +1,13 @@
 package ru.practicum.shareit.booking.service.strategy;
 
-import ru.practicum.shareit.booking.model.Booking;
+import com.querydsl.core.types.Predicate;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.QBooking;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 public interface BookingFetchStrategy {
     BookingState getState();
 
-    List<Booking> fetchBookings(long userId, boolean isOwner, LocalDateTime now);
+    Predicate condition(QBooking booking, LocalDateTime now);
 }
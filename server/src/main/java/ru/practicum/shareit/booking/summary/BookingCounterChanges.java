@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.summary;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class BookingCounterChanges {
+    private static final int BOOKER = 0;
+    private static final int OWNER = 3;
+    private static final int BOOKINGS = 0;
+    private static final int WAITING = 1;
+    private static final int REJECTED = 2;
+
+    private final Map<Long, long[]> changes = new TreeMap<>();
+
+    public void created(long bookerId, long ownerId, BookingStatus status) {
+        add(bookerId, BOOKER + BOOKINGS, 1);
+        add(ownerId, OWNER + BOOKINGS, 1);
+        count(bookerId, ownerId, status, 1);
+    }
+
+    public void decided(long bookerId, long ownerId, BookingStatus previous, BookingStatus status) {
+        count(bookerId, ownerId, previous, -1);
+        count(bookerId, ownerId, status, 1);
+    }
+
+    // Строки пользователей обновляются в порядке id, чтобы параллельные транзакции не блокировали друг друга
+    public List<BookingCounters> toList() {
+        return changes.entrySet().stream()
+                .map(entry -> {
+                    long[] delta = entry.getValue();
+                    return new BookingCounters(entry.getKey(), delta[0], delta[1], delta[2], delta[3], delta[4],
+                            delta[5]);
+                })
+                .toList();
+    }
+
+    private void count(long bookerId, long ownerId, BookingStatus status, int delta) {
+        int field = switch (status) {
+            case WAITING -> WAITING;
+            case REJECTED -> REJECTED;
+            default -> -1;
+        };
+        if (field >= 0) {
+            add(bookerId, BOOKER + field, delta);
+            add(ownerId, OWNER + field, delta);
+        }
+    }
+
+    private void add(long userId, int index, long delta) {
+        changes.computeIfAbsent(userId, id -> new long[6])[index] += delta;
+    }
+}
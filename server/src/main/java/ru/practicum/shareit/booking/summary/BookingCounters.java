@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.summary;
+
+public record BookingCounters(
+        long userId,
+        long bookerBookings,
+        long bookerWaiting,
+        long bookerRejected,
+        long ownerBookings,
+        long ownerWaiting,
+        long ownerRejected) {
+}
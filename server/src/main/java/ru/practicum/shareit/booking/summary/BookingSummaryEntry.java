@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.summary;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingSummaryEntry(
+        Long id,
+        Long bookerId,
+        Long ownerId,
+        LocalDateTime start,
+        LocalDateTime end,
+        BookingStatus status) {
+}
@@ -5,4 +5,5 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class HeaderConstants {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 }
@@ -2,6 +2,8 @@ package ru.practicum.shareit.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_item_period_excl";
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -23,6 +26,24 @@ public class ErrorHandler {
         return buildResponse(HttpStatus.CONFLICT, exception, request);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailure(OptimisticLockingFailureException exception,
+                                                        HttpServletRequest request) {
+        return buildResponse(HttpStatus.CONFLICT, exception, request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDataIntegrityViolation(DataIntegrityViolationException exception,
+                                                      HttpServletRequest request) {
+        String cause = exception.getMostSpecificCause().getMessage();
+        String message = cause != null && cause.contains(BOOKING_OVERLAP_CONSTRAINT)
+                ? "Item is already booked for the requested period"
+                : "Request conflicts with existing data";
+        return buildResponse(HttpStatus.CONFLICT, message, exception, request);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBadRequestException(BadRequestException exception, HttpServletRequest request) {
@@ -42,10 +63,14 @@ public class ErrorHandler {
     }
 
     private ErrorResponse buildResponse(HttpStatus httpStatus, Exception exception, HttpServletRequest request) {
+        return buildResponse(httpStatus, exception.getMessage(), exception, request);
+    }
+
+    private ErrorResponse buildResponse(HttpStatus httpStatus, String message, Exception exception,
+                                        HttpServletRequest request) {
         String path = request.getRequestURI();
         int statusCode = httpStatus.value();
         String error = httpStatus.getReasonPhrase();
-        String message = exception.getMessage();
 
         String logMessage = String.format("Path: %s, '%d' %s — %s", path, statusCode, error, message);
 
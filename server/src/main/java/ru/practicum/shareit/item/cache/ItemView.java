@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.ItemWithCommentDto;
+
+public record ItemView(long ownerId, ItemWithCommentDto item) {
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+@Component
+public class ItemViewCache {
+    public static final String NAME = "item-views";
+
+    private final ItemViewCacheProperties properties;
+    private final Cache<Long, ItemView> cache;
+
+    @Autowired
+    public ItemViewCache(ItemViewCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ItemViewCache(ItemViewCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker,
+                  Executor executor) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    // Загрузка идёт под блокировкой ключа, invalidate того же id дожидается её и удаляет загруженное
+    public ItemView get(long itemId, Supplier<ItemView> loader) {
+        if (!properties.enabled()) {
+            return loader.get();
+        }
+        return cache.get(itemId, id -> loader.get());
+    }
+
+    public void invalidate(long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
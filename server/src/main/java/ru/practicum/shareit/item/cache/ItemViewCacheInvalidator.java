@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+
+@Component
+@RequiredArgsConstructor
+public class ItemViewCacheInvalidator {
+    private final ItemViewCache itemViewCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        itemViewCache.invalidate(event.itemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        itemViewCache.invalidate(event.itemId());
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.item.cache")
+public record ItemViewCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("10m") Duration ttl) {
+}
@@ -1,12 +1,22 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.search.SearchOperator;
+import ru.practicum.shareit.item.search.SearchSort;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.stream.NdjsonStreamer;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
+import static ru.practicum.shareit.constants.HeaderConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
 @RestController
@@ -14,6 +24,7 @@ import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final NdjsonStreamer ndjsonStreamer;
 
     @PostMapping
     public ItemDto createItem(@RequestHeader(USER_ID_HEADER) long ownerId,
@@ -34,14 +45,83 @@ public class ItemController {
         return itemService.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable("itemId") long itemId,
+                                               @RequestParam("from")
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam("to")
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping
-    public List<ItemWithCommentDto> getPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId) {
-        return itemService.getPersonalItems(ownerId);
+    public ResponseEntity<List<ItemWithCommentDto>> getPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId,
+                                                                     @RequestParam(value = "from", defaultValue = "0") int from,
+                                                                     @RequestParam(value = "size", required = false) Integer size,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor) {
+        ItemPage page = itemService.getPersonalItems(ownerId, from, Objects.requireNonNullElse(size, Integer.MAX_VALUE), cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersonalItems(@RequestHeader(USER_ID_HEADER) long ownerId) {
+        return ndjsonStreamer.stream(itemService.streamPersonalItems(ownerId));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam("text") String text) {
-        return itemService.searchItems(text);
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam("text") String text,
+                                                     @RequestParam(value = "from", defaultValue = "0") int from,
+                                                     @RequestParam(value = "size", required = false) Integer size,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                                     @RequestParam(value = "operator", defaultValue = "AND")
+                                                     SearchOperator operator,
+                                                     @RequestParam(value = "sort", defaultValue = "DEFAULT") SearchSort sort) {
+        ItemSearchPage page = itemService.searchItems(new ItemSearchQuery(
+                text, from, Objects.requireNonNullElse(size, Integer.MAX_VALUE), cursor, fuzzy, operator, sort));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchItems(@RequestParam("text") String text) {
+        return ndjsonStreamer.stream(itemService.streamSearchItems(text));
+    }
+
+    @GetMapping("/search/facets")
+    public ItemFacetPage searchFacets(@RequestHeader(USER_ID_HEADER) long userId,
+                                      @RequestParam(value = "text", defaultValue = "") String text,
+                                      @RequestParam(value = "ownerId", required = false) Long ownerId,
+                                      @RequestParam(value = "requestId", required = false) Long requestId,
+                                      @RequestParam(value = "available", required = false) Boolean available,
+                                      @RequestParam(value = "from", defaultValue = "0") int from,
+                                      @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemService.searchFacets(new ItemFacetQuery(text, ownerId, requestId, available, from, size), userId);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam("prefix") String prefix,
+                                         @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemService.suggestItemNames(prefix, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable("itemId") long itemId,
+                                                        @RequestParam(value = "size", defaultValue = "10") int size,
+                                                        @RequestParam(value = "cursor", required = false) String cursor) {
+        CommentPage page = itemService.getComments(itemId, size, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.comments());
     }
 
     @PostMapping("/{itemId}/comment")
@@ -1,10 +1,22 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItemId(Long itemId);
+
+    // Аналог LATERAL, которого нет в H2: для каждой вещи из индекса читаются только limit последних комментариев
+    @Query(value = "SELECT c.* FROM items i JOIN comments c ON c.comment_id = ANY (ARRAY(" +
+            "SELECT l.comment_id FROM comments l WHERE l.item_id = i.item_id " +
+            "ORDER BY l.created DESC, l.comment_id DESC LIMIT :limit)) " +
+            "WHERE i.item_id IN (:itemIds) " +
+            "ORDER BY c.item_id, c.created DESC, c.comment_id DESC",
+            nativeQuery = true)
+    List<Comment> findLatestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
 }
@@ -1,29 +1,135 @@
 package ru.practicum.shareit.item.dao;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemBookingDatesDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    // booking_dates_stale_at — начало следующего или конец ближайшего незавершённого бронирования
+    String REFRESH_BOOKING_DATES = "update items i set " +
+            "last_booking = (select b.start_time from bookings b " +
+            "where b.item_id = i.item_id and b.end_time < :now order by b.end_time desc limit 1), " +
+            "next_booking = (select min(b.start_time) from bookings b " +
+            "where b.item_id = i.item_id and b.start_time > :now), " +
+            "booking_dates_stale_at = least(" +
+            "(select min(b.start_time) from bookings b where b.item_id = i.item_id and b.start_time > :now), " +
+            "(select min(b.end_time) from bookings b where b.item_id = i.item_id and b.end_time >= :now)) ";
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_BOOKING_DATES + "where i.item_id in (:itemIds)", nativeQuery = true)
+    int refreshBookingDates(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = REFRESH_BOOKING_DATES + "where i.item_id in (select s.item_id from items s " +
+            "where s.booking_dates_stale_at < :now order by s.booking_dates_stale_at limit :limit)",
+            nativeQuery = true)
+    int refreshStaleBookingDates(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
     @Query("SELECT i FROM Item i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "AND i.available = true")
-    List<Item> searchByNameOrDescriptionAndAvailableIsTrue(String text);
+            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :#{escape(#text)}, '%')) ESCAPE :#{escapeCharacter()} " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :#{escape(#text)}, '%')) ESCAPE :#{escapeCharacter()}) " +
+            "AND i.available = true " +
+            "AND i.id > :afterId " +
+            "ORDER BY i.id " +
+            "LIMIT :limit OFFSET :offset")
+    List<Item> searchByNameOrDescriptionAndAvailableIsTrue(@Param("text") String text,
+                                                           @Param("afterId") long afterId,
+                                                           @Param("offset") int offset,
+                                                           @Param("limit") int limit);
+
+    @Query(value = "SELECT i.* FROM items i " +
+            "WHERE i.available = true " +
+            "AND i.search_vector @@ websearch_to_tsquery('russian', :text) " +
+            "ORDER BY ts_rank(i.search_vector, websearch_to_tsquery('russian', :text)) DESC, i.item_id " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Item> searchByFullTextAndAvailableIsTrue(@Param("text") String text,
+                                                  @Param("offset") int offset,
+                                                  @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available) " +
+            "FROM Item i " +
+            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :#{escape(#text)}, '%')) ESCAPE :#{escapeCharacter()} " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :#{escape(#text)}, '%')) ESCAPE :#{escapeCharacter()}) " +
+            "AND i.available = true " +
+            "ORDER BY i.id")
+    Stream<ItemDto> streamByNameOrDescriptionAndAvailableIsTrue(@Param("text") String text);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT i.* FROM items i " +
+            "WHERE i.available = true " +
+            "AND i.search_vector @@ websearch_to_tsquery('russian', :text) " +
+            "ORDER BY ts_rank(i.search_vector, websearch_to_tsquery('russian', :text)) DESC, i.item_id",
+            nativeQuery = true)
+    Stream<Item> streamByFullTextAndAvailableIsTrue(@Param("text") String text);
+
+    @Query("SELECT i.name FROM Item i " +
+            "WHERE LOWER(i.name) LIKE CONCAT(LOWER(:#{escape(#prefix)}), '%') ESCAPE :#{escapeCharacter()} " +
+            "AND i.available = true " +
+            "GROUP BY i.name " +
+            "ORDER BY COUNT(i) DESC, i.name")
+    List<String> findAvailableNamesByPrefix(@Param("prefix") String prefix, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Item i set i.commentCount = i.commentCount + 1 where i.id = :itemId")
+    int incrementCommentCount(@Param("itemId") Long itemId);
 
-    @Query("select i from Item i " +
-            "left join fetch i.comments " +
-            "where i.id = :itemId")
-    Optional<Item> findByIdWithComments(@Param("itemId") Long itemId);
+    @Query("select new ru.practicum.shareit.item.dto.ItemBookingDatesDto(i.id, i.lastBooking, i.nextBooking) " +
+            "from Item i " +
+            "where i.id = :itemId " +
+            "and (i.bookingDatesStaleAt is null or i.bookingDatesStaleAt >= :now)")
+    Optional<ItemBookingDatesDto> findFreshBookingDates(@Param("itemId") Long itemId,
+                                                        @Param("now") LocalDateTime now);
 
-    @Query("select distinct i from Item i " +
-            "left join fetch i.comments c " +
-            "where i.owner.id = :ownerId")
-    List<Item> findByOwnerIdWithComments(@Param("ownerId") Long ownerId);
+    @Query("select i.id from Item i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id " +
+            "LIMIT :limit OFFSET :offset")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId,
+                                @Param("offset") int offset,
+                                @Param("limit") int limit);
+
+    @Query("select i.id from Item i " +
+            "where i.owner.id = :ownerId and i.id > :afterId " +
+            "order by i.id " +
+            "LIMIT :limit")
+    List<Long> findIdsByOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select i.id from Item i " +
+            "where i.owner.id = :ownerId " +
+            "order by i.id")
+    Stream<Long> streamIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    List<Item> findByIdInOrderById(Collection<Long> ids);
 
     List<Item> findByRequestIdIn(List<Long> requestIds);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Item> findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(LocalDateTime modified, Long id, Limit limit);
+
+    @Query("select max(i.modified) from Item i")
+    Optional<LocalDateTime> findMaxModified();
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dates;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.item.booking-dates")
+public record ItemBookingDatesProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1m") Duration refreshInterval,
+        @DefaultValue("1000") int refreshBatchSize) {
+}
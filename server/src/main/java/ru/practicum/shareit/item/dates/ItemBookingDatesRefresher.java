@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.dates;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+
+import java.time.LocalDateTime;
+
+// Запись бронирования обновляет даты сразу, здесь подхватываются вещи, даты которых устарели со временем
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingDatesRefresher {
+    private final ItemRepository itemRepository;
+    private final ItemBookingDatesProperties properties;
+
+    @Scheduled(fixedDelayString = "${shareit.item.booking-dates.refresh-interval:1m}")
+    public void refreshStale() {
+        if (properties.enabled()) {
+            refreshStale(LocalDateTime.now());
+        }
+    }
+
+    public int refreshStale(LocalDateTime now) {
+        int total = 0;
+        int refreshed;
+        do {
+            refreshed = itemRepository.refreshStaleBookingDates(now, properties.refreshBatchSize());
+            total += refreshed;
+        } while (refreshed == properties.refreshBatchSize());
+        if (total > 0) {
+            log.info("Обновлены даты последнего и следующего бронирования вещей: {}", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ItemAvailabilityDto(
+        Long itemId,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<TimeIntervalDto> free,
+        List<TimeIntervalDto> busy) {
+}
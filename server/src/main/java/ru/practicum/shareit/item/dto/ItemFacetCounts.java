@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Map;
+
+public record ItemFacetCounts(
+        Map<Long, Integer> owners,
+        Map<Long, Integer> requests,
+        Map<Boolean, Integer> availability) {
+}
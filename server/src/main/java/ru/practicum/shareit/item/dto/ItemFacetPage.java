@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+public record ItemFacetPage(
+        List<ItemDto> items,
+        int total,
+        ItemFacetCounts facets) {
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.dto;
+
+public record ItemFacetQuery(
+        String text,
+        Long ownerId,
+        Long requestId,
+        Boolean available,
+        int from,
+        int size) {
+}
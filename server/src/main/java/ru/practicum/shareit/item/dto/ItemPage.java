@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+public record ItemPage(List<ItemWithCommentDto> items, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.item.search.SearchOperator;
+import ru.practicum.shareit.item.search.SearchSort;
+
+public record ItemSearchQuery(
+        String text,
+        int from,
+        int size,
+        String cursor,
+        boolean fuzzy,
+        SearchOperator operator,
+        SearchSort sort) {
+}
@@ -10,5 +10,6 @@ public record ItemWithCommentDto(
         Boolean available,
         LocalDateTime lastBooking,
         LocalDateTime nextBooking,
-        List<CommentDto> comments) {
+        List<CommentDto> comments,
+        Integer commentCount) {
 }
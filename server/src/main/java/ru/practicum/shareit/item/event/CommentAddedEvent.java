@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.event;
+
+public record CommentAddedEvent(Long itemId, Long commentId) {
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.event;
+
+public record ItemChangedEvent(
+        Long itemId,
+        String name,
+        String description,
+        Boolean available,
+        Long ownerId,
+        Long requestId) {
+}
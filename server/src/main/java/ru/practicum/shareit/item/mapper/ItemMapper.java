@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ItemMapper {
@@ -16,16 +17,27 @@ public interface ItemMapper {
     @Mapping(source = "request.name", target = "name")
     @Mapping(target = "request", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "modified", ignore = true)
     Item fromNewRequest(NewItemRequest request, User owner);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "request", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "modified", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateItemFromRequest(@MappingTarget Item item, UpdateItemRequest request);
 
     CommentDto toCommentDto(Comment comment);
 
-    ItemWithCommentDto toItemWithCommentDto(Item item, LocalDateTime lastBooking, LocalDateTime nextBooking);
+    @Mapping(target = "lastBooking", source = "lastBooking")
+    @Mapping(target = "nextBooking", source = "nextBooking")
+    @Mapping(target = "comments", source = "comments")
+    ItemWithCommentDto toItemWithCommentDto(Item item, LocalDateTime lastBooking, LocalDateTime nextBooking,
+                                            List<Comment> comments);
+
+    @Mapping(target = "lastBooking", source = "lastBooking")
+    @Mapping(target = "nextBooking", source = "nextBooking")
+    ItemWithCommentDto withBookingDates(ItemWithCommentDto item, LocalDateTime lastBooking,
+                                        LocalDateTime nextBooking);
 }
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,24 @@ public class Item {
     private String name;
     private String description;
     private Boolean available;
+    @UpdateTimestamp
+    private LocalDateTime modified;
+
+    @Column(name = "last_booking", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime lastBooking;
+
+    @Column(name = "next_booking", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime nextBooking;
+
+    @Column(name = "booking_dates_stale_at", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime bookingDatesStaleAt;
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Integer commentCount = 0;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemFacetCounts;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ItemFacetCounter {
+    public static final int LIMIT = 10;
+
+    private final Map<Long, Integer> owners = new HashMap<>();
+    private final Map<Long, Integer> requests = new HashMap<>();
+    private int available;
+    private int unavailable;
+
+    public void add(long ownerId, Long requestId, boolean available) {
+        owners.merge(ownerId, 1, Integer::sum);
+        if (requestId != null) {
+            requests.merge(requestId, 1, Integer::sum);
+        }
+        if (available) {
+            this.available++;
+        } else {
+            unavailable++;
+        }
+    }
+
+    public ItemFacetCounts toCounts() {
+        Map<Boolean, Integer> availability = new LinkedHashMap<>();
+        if (available > 0) {
+            availability.put(true, available);
+        }
+        if (unavailable > 0) {
+            availability.put(false, unavailable);
+        }
+        return new ItemFacetCounts(top(owners), top(requests), availability);
+    }
+
+    private static Map<Long, Integer> top(Map<Long, Integer> counts) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(LIMIT)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetPage;
+import ru.practicum.shareit.item.dto.ItemFacetQuery;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Кандидаты из пересечения битмапов фильтров и триграмм проверяются поиском подстроки
+@Component
+public class ItemFacetIndex {
+    private final Map<Long, FacetItem> items = new HashMap<>();
+    private final Map<String, Roaring64Bitmap> grams = new HashMap<>();
+    private final Map<Long, Roaring64Bitmap> owners = new HashMap<>();
+    private final Map<Long, Roaring64Bitmap> requests = new HashMap<>();
+    private Roaring64Bitmap all = new Roaring64Bitmap();
+    private Roaring64Bitmap available = new Roaring64Bitmap();
+    private Roaring64Bitmap unavailable = new Roaring64Bitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long id, String name, String description, long ownerId, Long requestId, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            FacetItem item = new FacetItem(name, description, ItemSearchIndex.lower(name),
+                    ItemSearchIndex.lower(description), ownerId, requestId, available);
+            items.put(id, item);
+            all.addLong(id);
+            (available ? this.available : unavailable).addLong(id);
+            owners.computeIfAbsent(ownerId, o -> new Roaring64Bitmap()).addLong(id);
+            if (requestId != null) {
+                requests.computeIfAbsent(requestId, r -> new Roaring64Bitmap()).addLong(id);
+            }
+            for (String gram : item.grams()) {
+                grams.computeIfAbsent(gram, g -> new Roaring64Bitmap()).addLong(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            grams.clear();
+            owners.clear();
+            requests.clear();
+            all = new Roaring64Bitmap();
+            available = new Roaring64Bitmap();
+            unavailable = new Roaring64Bitmap();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ItemFacetPage search(ItemFacetQuery query) {
+        String text = ItemSearchIndex.lower(query.text());
+        lock.readLock().lock();
+        try {
+            List<Roaring64Bitmap> filters = new ArrayList<>();
+            if (query.ownerId() != null) {
+                filters.add(owners.get(query.ownerId()));
+            }
+            if (query.requestId() != null) {
+                filters.add(requests.get(query.requestId()));
+            }
+            if (query.available() != null) {
+                filters.add(query.available() ? available : unavailable);
+            }
+            for (String gram : ItemSearchIndex.grams(text)) {
+                filters.add(grams.get(gram));
+            }
+
+            ItemFacetCounter counter = new ItemFacetCounter();
+            List<ItemDto> page = new ArrayList<>();
+            int[] total = {0};
+            if (filters.contains(null)) {
+                return new ItemFacetPage(page, 0, counter.toCounts());
+            }
+            candidates(filters).forEach(id -> {
+                FacetItem item = items.get(id);
+                if (!item.matches(text)) {
+                    return;
+                }
+                counter.add(item.ownerId(), item.requestId(), item.available());
+                if (total[0] >= query.from() && page.size() < query.size()) {
+                    page.add(new ItemDto(id, item.name(), item.description(), item.available()));
+                }
+                total[0]++;
+            });
+            return new ItemFacetPage(page, total[0], counter.toCounts());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Roaring64Bitmap candidates(List<Roaring64Bitmap> filters) {
+        if (filters.isEmpty()) {
+            return all;
+        }
+        if (filters.size() == 1) {
+            return filters.getFirst();
+        }
+        filters.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        Roaring64Bitmap result = filters.getFirst().clone();
+        for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+            result.and(filters.get(i));
+        }
+        return result;
+    }
+
+    private void removeInternal(long id) {
+        FacetItem old = items.remove(id);
+        if (old == null) {
+            return;
+        }
+        all.removeLong(id);
+        (old.available() ? available : unavailable).removeLong(id);
+        removeFrom(owners, old.ownerId(), id);
+        if (old.requestId() != null) {
+            removeFrom(requests, old.requestId(), id);
+        }
+        for (String gram : old.grams()) {
+            removeFrom(grams, gram, id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Roaring64Bitmap> bitmaps, K key, long id) {
+        Roaring64Bitmap bitmap = bitmaps.get(key);
+        bitmap.removeLong(id);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+    private record FacetItem(String name, String description, String lowerName, String lowerDescription,
+                             long ownerId, Long requestId, boolean available) {
+
+        boolean matches(String text) {
+            return lowerName.contains(text) || lowerDescription.contains(text);
+        }
+
+        Set<String> grams() {
+            Set<String> result = ItemSearchIndex.grams(lowerName);
+            result.addAll(ItemSearchIndex.grams(lowerDescription));
+            return result;
+        }
+    }
+}
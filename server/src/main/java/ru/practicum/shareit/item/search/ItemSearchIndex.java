@@ -0,0 +1,350 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Триграммы только сужают кандидатов, каждый проверяется поиском подстроки, как LIKE в ItemRepository
+@Component
+public class ItemSearchIndex implements DisposableBean {
+    private static final int GRAM = 3;
+
+    private final Shard[] shards;
+    private final ForkJoinPool pool;
+    private final Set<Long> shadowed = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ItemSearchSegment segment;
+    private volatile boolean ready;
+
+    public ItemSearchIndex() {
+        this(1);
+    }
+
+    @Autowired
+    public ItemSearchIndex(ItemSearchProperties properties) {
+        this(properties.indexShards() > 0 ? properties.indexShards() : Runtime.getRuntime().availableProcessors());
+    }
+
+    ItemSearchIndex(int shardCount) {
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        pool = shardCount > 1 ? new ForkJoinPool(shardCount) : null;
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return heapSize() + (segment == null ? 0 : segment.size() - shadowed.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int pendingChanges() {
+        lock.readLock().lock();
+        try {
+            return heapSize() + shadowed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void load(ItemSearchSegment segment) {
+        lock.writeLock().lock();
+        try {
+            clearShards();
+            shadowed.clear();
+            this.segment = segment;
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].fromOrdinal = (int) ((long) segment.size() * i / shards.length);
+                shards[i].toOrdinal = (int) ((long) segment.size() * (i + 1) / shards.length);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(long id, String name, String description, boolean available) {
+        lock.writeLock().lock();
+        try {
+            Shard shard = shard(id);
+            shard.remove(id);
+            shadow(id);
+            if (available) {
+                shard.add(new IndexedItem(id, name, description));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            shard(id).remove(id);
+            shadow(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearShards();
+            shadowed.clear();
+            segment = null;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text) {
+        return search(text, 0, 0, Integer.MAX_VALUE);
+    }
+
+    public List<ItemDto> search(String text, long afterId, int offset, int limit) {
+        String query = lower(text);
+        int bound = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        lock.readLock().lock();
+        try {
+            List<List<ItemDto>> parts = fanOut(shard -> shard.search(query, afterId, bound));
+            if (parts.size() == 1) {
+                List<ItemDto> part = parts.getFirst();
+                return part.subList(Math.min(offset, part.size()), part.size());
+            }
+            return parts.stream()
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparing(ItemDto::id))
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEach(Consumer<ItemDto> consumer) {
+        lock.readLock().lock();
+        try {
+            Iterator<ItemDto> fromHeap = Arrays.stream(shards)
+                    .flatMap(shard -> shard.items.values().stream())
+                    .sorted(Comparator.comparingLong(IndexedItem::id))
+                    .map(IndexedItem::toDto)
+                    .iterator();
+            Iterator<ItemDto> fromSegment = segment == null
+                    ? Collections.emptyIterator()
+                    : segmentMatches("", 0, segment.size());
+            merge(fromSegment, fromHeap, item -> {
+                consumer.accept(item);
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private <T> List<T> fanOut(Function<Shard, T> task) {
+        if (pool == null) {
+            return List.of(task.apply(shards[0]));
+        }
+        List<ForkJoinTask<T>> tasks = Arrays.stream(shards)
+                .map(shard -> pool.submit(() -> task.apply(shard)))
+                .toList();
+        return tasks.stream()
+                .map(ForkJoinTask::join)
+                .toList();
+    }
+
+    private Iterator<ItemDto> segmentMatches(String query, int fromOrdinal, int toOrdinal) {
+        Spliterator.OfInt ordinals = Spliterators.spliteratorUnknownSize(
+                segment.candidates(query, fromOrdinal), Spliterator.ORDERED);
+        return StreamSupport.intStream(ordinals, false)
+                .takeWhile(ordinal -> ordinal < toOrdinal)
+                .filter(ordinal -> !shadowed.contains(segment.id(ordinal)) && segment.matches(ordinal, query))
+                .mapToObj(segment::item)
+                .iterator();
+    }
+
+    private static void merge(Iterator<ItemDto> first, Iterator<ItemDto> second, Predicate<ItemDto> sink) {
+        ItemDto a = first.hasNext() ? first.next() : null;
+        ItemDto b = second.hasNext() ? second.next() : null;
+        boolean more = true;
+        while (more && (a != null || b != null)) {
+            if (b == null || a != null && a.id() < b.id()) {
+                more = sink.test(a);
+                a = first.hasNext() ? first.next() : null;
+            } else {
+                more = sink.test(b);
+                b = second.hasNext() ? second.next() : null;
+            }
+        }
+    }
+
+    private Shard shard(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    private int heapSize() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.items.size();
+        }
+        return size;
+    }
+
+    private void clearShards() {
+        for (Shard shard : shards) {
+            shard.items.clear();
+            shard.postings.clear();
+            shard.fromOrdinal = 0;
+            shard.toOrdinal = 0;
+        }
+    }
+
+    private void shadow(long id) {
+        if (segment != null && segment.contains(id)) {
+            shadowed.add(id);
+        }
+    }
+
+    private static Set<String> grams(IndexedItem item) {
+        Set<String> result = grams(item.name());
+        result.addAll(grams(item.description()));
+        return result;
+    }
+
+    private final class Shard {
+        private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private int fromOrdinal;
+        private int toOrdinal;
+
+        private List<ItemDto> search(String query, long afterId, int limit) {
+            Stream<IndexedItem> matches = query.length() < GRAM
+                    ? items.tailMap(afterId, false).values().stream()
+                    : candidates(query).stream()
+                    .filter(id -> id > afterId)
+                    .sorted()
+                    .map(items::get);
+            Iterator<ItemDto> fromHeap = matches
+                    .filter(item -> item.matches(query))
+                    .map(IndexedItem::toDto)
+                    .iterator();
+            Iterator<ItemDto> fromSegment = segment == null
+                    ? Collections.emptyIterator()
+                    : segmentMatches(query, Math.max(fromOrdinal, segment.ordinalAfter(afterId)), toOrdinal);
+
+            List<ItemDto> result = new ArrayList<>();
+            if (limit > 0) {
+                merge(fromSegment, fromHeap, item -> {
+                    result.add(item);
+                    return result.size() < limit;
+                });
+            }
+            return result;
+        }
+
+        private void add(IndexedItem item) {
+            items.put(item.id(), item);
+            for (String gram : grams(item)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(item.id());
+            }
+        }
+
+        private void remove(long id) {
+            IndexedItem old = items.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (String gram : grams(old)) {
+                Set<Long> list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        private Collection<Long> candidates(String query) {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<Long> list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> result = new HashSet<>(lists.getFirst());
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+    }
+
+    private record IndexedItem(long id, String originalName, String originalDescription,
+                               String name, String description) {
+        IndexedItem(long id, String name, String description) {
+            this(id, name, description, lower(name), lower(description));
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        ItemDto toDto() {
+            return new ItemDto(id, originalName, originalDescription, true);
+        }
+    }
+}
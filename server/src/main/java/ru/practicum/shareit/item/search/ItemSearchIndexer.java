@@ -0,0 +1,328 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndexer implements SmartInitializingSingleton, DisposableBean {
+    private static final String SEGMENT_PREFIX = "items-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final LocalDateTime NO_CHANGES = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemTermIndex termIndex;
+    private final ItemFacetIndex facetIndex;
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties properties;
+
+    private final Queue<ItemChangedEvent> pending = new ArrayDeque<>();
+    private ExecutorService executor;
+    private boolean building;
+    private volatile boolean built;
+    private volatile LocalDateTime watermark;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.indexEnabled() && !properties.suggestEnabled() && !properties.termIndexEnabled()
+                && !properties.facetsEnabled()) {
+            return;
+        }
+        synchronized (pending) {
+            building = true;
+        }
+        if (properties.buildInBackground()) {
+            executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "item-search-indexer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.execute(this::build);
+        } else {
+            build();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (segmentsEnabled() && built && searchIndex.pendingChanges() > 0) {
+            saveSegment(watermark);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!built) {
+            synchronized (pending) {
+                if (building) {
+                    pending.add(event);
+                    return;
+                }
+            }
+            if (!built) {
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void build() {
+        try {
+            if (!segmentsEnabled() || !restore()) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Не удалось построить поисковые индексы вещей, поиск работает через базу данных", e);
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime highWater = itemRepository.findMaxModified().orElse(NO_CHANGES);
+        clear();
+        AtomicInteger rejected = new AtomicInteger();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            Limit limit = Limit.of(properties.indexBatchSize());
+            batch = properties.facetsEnabled()
+                    ? itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, limit)
+                    : itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId, limit);
+            for (Item item : batch) {
+                if (properties.facetsEnabled()) {
+                    putFacets(item);
+                }
+                if (Boolean.TRUE.equals(item.getAvailable())) {
+                    if (properties.indexEnabled() || segmentsEnabled()) {
+                        searchIndex.put(item.getId(), item.getName(), item.getDescription(), true);
+                    }
+                    putDerived(item.getId(), item.getName(), item.getDescription(), true, rejected);
+                }
+                lastId = item.getId();
+            }
+        } while (batch.size() == properties.indexBatchSize());
+
+        watermark = highWater;
+        if (segmentsEnabled()) {
+            saveSegment(watermark).ifPresent(searchIndex::load);
+        }
+        finishBuild(rejected.get());
+        if (searchIndexServesQueries()) {
+            log.info("Поисковый индекс вещей построен, доступных вещей: {}", searchIndex.size());
+        }
+    }
+
+    private boolean restore() {
+        Optional<Path> file = latestSegment();
+        if (file.isEmpty()) {
+            return false;
+        }
+        ItemSearchSegment segment;
+        try {
+            segment = ItemSearchSegment.open(file.get());
+        } catch (IOException e) {
+            log.warn("Не удалось открыть сегмент поискового индекса {}, индекс будет перестроен", file.get(), e);
+            return false;
+        }
+
+        clear();
+        searchIndex.load(segment);
+        AtomicInteger rejected = new AtomicInteger();
+        if (properties.suggestEnabled() || properties.termIndexEnabled()) {
+            searchIndex.forEach(item -> putDerived(item.id(), item.name(), item.description(), true, rejected));
+        }
+
+        LocalDateTime since = segment.watermark().minus(properties.segmentCatchUpMargin());
+        LocalDateTime highWater = itemRepository.findMaxModified()
+                .filter(segment.watermark()::isBefore)
+                .orElse(segment.watermark());
+        int changed = 0;
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+                    since, lastId, Limit.of(properties.indexBatchSize()));
+            for (Item item : batch) {
+                boolean available = Boolean.TRUE.equals(item.getAvailable());
+                searchIndex.put(item.getId(), item.getName(), item.getDescription(), available);
+                putDerived(item.getId(), item.getName(), item.getDescription(), available, rejected);
+                lastId = item.getId();
+            }
+            changed += batch.size();
+        } while (batch.size() == properties.indexBatchSize());
+        watermark = highWater;
+
+        if (properties.facetsEnabled()) {
+            lastId = 0;
+            do {
+                batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(properties.indexBatchSize()));
+                for (Item item : batch) {
+                    putFacets(item);
+                    lastId = item.getId();
+                }
+            } while (batch.size() == properties.indexBatchSize());
+        }
+
+        finishBuild(rejected.get());
+        log.info("Поисковый индекс вещей загружен из сегмента {}, доступных вещей: {}, изменено после снимка: {}",
+                segment.file(), searchIndex.size(), changed);
+        return true;
+    }
+
+    private void putFacets(Item item) {
+        facetIndex.put(item.getId(), item.getName(), item.getDescription(), item.getOwner().getId(),
+                item.getRequest() == null ? null : item.getRequest().getId(), Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    private void clear() {
+        searchIndex.clear();
+        suggestIndex.clear();
+        termIndex.clear();
+        facetIndex.clear();
+    }
+
+    private void putDerived(long id, String name, String description, boolean available, AtomicInteger rejected) {
+        if (properties.suggestEnabled() && !suggestIndex.put(id, name, available)) {
+            rejected.incrementAndGet();
+        }
+        if (properties.termIndexEnabled()) {
+            termIndex.put(id, name, description, available);
+        }
+    }
+
+    private void apply(ItemChangedEvent event) {
+        boolean available = Boolean.TRUE.equals(event.available());
+        if (properties.indexEnabled() || segmentsEnabled()) {
+            searchIndex.put(event.itemId(), event.name(), event.description(), available);
+        }
+        if (properties.termIndexEnabled()) {
+            termIndex.put(event.itemId(), event.name(), event.description(), available);
+        }
+        if (properties.facetsEnabled()) {
+            facetIndex.put(event.itemId(), event.name(), event.description(), event.ownerId(), event.requestId(),
+                    available);
+        }
+        if (properties.suggestEnabled() && !suggestIndex.put(event.itemId(), event.name(), available)) {
+            log.warn("Бюджет памяти индекса подсказок исчерпан, вещь с id {} не проиндексирована", event.itemId());
+        }
+    }
+
+    // Изменения, пришедшие во время построения, применяются поверх него до того, как индексы станут готовы
+    private void finishBuild(int rejected) {
+        while (true) {
+            ItemChangedEvent event;
+            synchronized (pending) {
+                event = pending.poll();
+                if (event == null) {
+                    building = false;
+                    built = true;
+                    markReady(rejected);
+                    return;
+                }
+            }
+            apply(event);
+        }
+    }
+
+    private void markReady(int rejected) {
+        if (searchIndexServesQueries()) {
+            searchIndex.markReady();
+        }
+        if (properties.suggestEnabled()) {
+            suggestIndex.markReady();
+            log.info("Индекс подсказок построен, имён: {}, оценка памяти: {} байт",
+                    suggestIndex.size(), suggestIndex.estimatedBytes());
+            if (rejected > 0) {
+                log.warn("Бюджет памяти индекса подсказок исчерпан, не проиндексировано вещей: {}", rejected);
+            }
+        }
+        if (properties.termIndexEnabled()) {
+            termIndex.markReady();
+            log.info("Индекс слов для ранжированного и нечёткого поиска построен, вещей: {}, слов: {}",
+                    termIndex.size(), termIndex.vocabularySize());
+        }
+        if (properties.facetsEnabled()) {
+            facetIndex.markReady();
+            log.info("Индекс фасетов построен, вещей: {}", facetIndex.size());
+        }
+    }
+
+    private Optional<ItemSearchSegment> saveSegment(LocalDateTime watermark) {
+        Path directory = properties.segmentDir();
+        ItemSearchSegment.Writer writer = new ItemSearchSegment.Writer(watermark);
+        searchIndex.forEach(writer::add);
+        try {
+            Files.createDirectories(directory);
+            long millis = watermark.toInstant(ZoneOffset.UTC).toEpochMilli();
+            ItemSearchSegment segment = writer.write(directory.resolve(SEGMENT_PREFIX + millis + SEGMENT_SUFFIX));
+            try (Stream<Path> files = segmentFiles()) {
+                for (Path old : files.filter(path -> !path.equals(segment.file())).toList()) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            log.info("Сегмент поискового индекса записан в {}, вещей: {}", segment.file(), segment.size());
+            return Optional.of(segment);
+        } catch (IOException e) {
+            log.warn("Не удалось записать сегмент поискового индекса в {}", directory, e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<Path> latestSegment() {
+        if (!Files.isDirectory(properties.segmentDir())) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = segmentFiles()) {
+            return files.max(Comparator.comparingLong(ItemSearchIndexer::segmentMillis));
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать каталог сегментов {}", properties.segmentDir(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Stream<Path> segmentFiles() throws IOException {
+        return Files.list(properties.segmentDir())
+                .filter(path -> path.getFileName().toString().matches(SEGMENT_PREFIX + "\\d+\\" + SEGMENT_SUFFIX));
+    }
+
+    private boolean segmentsEnabled() {
+        return properties.segmentEnabled();
+    }
+
+    // Индекс из сегмента отвечает так же, как LIKE, поэтому заменяет этот бэкенд и без index-enabled
+    private boolean searchIndexServesQueries() {
+        return properties.indexEnabled() || segmentsEnabled() && properties.backend() == SearchBackend.LIKE;
+    }
+
+    private static long segmentMillis(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
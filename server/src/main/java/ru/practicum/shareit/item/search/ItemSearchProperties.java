@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.search")
+public record ItemSearchProperties(
+        @DefaultValue("false") boolean indexEnabled,
+        @DefaultValue("1000") int indexBatchSize,
+        @DefaultValue("like") SearchBackend backend,
+        @DefaultValue("true") boolean suggestEnabled,
+        @DefaultValue("10") int suggestLimit,
+        @DefaultValue("16MB") DataSize suggestMemoryBudget,
+        @DefaultValue("true") boolean termIndexEnabled,
+        @DefaultValue("true") boolean segmentEnabled,
+        @DefaultValue("search-segments") Path segmentDir,
+        @DefaultValue("1m") Duration segmentCatchUpMargin,
+        @DefaultValue("true") boolean facetsEnabled,
+        @DefaultValue("0") int indexShards,
+        @DefaultValue("true") boolean buildInBackground) {
+}
@@ -0,0 +1,364 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.IntStream;
+
+// Файл отображается в память, поэтому открытие сегмента не зависит от размера каталога
+public final class ItemSearchSegment {
+    private static final int MAGIC = 0x53495347;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int DOC_BYTES = 12;
+    private static final int GRAM_BYTES = 16;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final LocalDateTime watermark;
+    private final int size;
+    private final int gramCount;
+    private final int docsOffset;
+    private final int gramsOffset;
+    private final int postingsOffset;
+    private final int textsOffset;
+
+    private ItemSearchSegment(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        this.watermark = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(8)), ZoneOffset.UTC);
+        this.size = buffer.getInt(16);
+        this.gramCount = buffer.getInt(20);
+        this.docsOffset = buffer.getInt(24);
+        this.gramsOffset = buffer.getInt(28);
+        this.postingsOffset = buffer.getInt(32);
+        this.textsOffset = buffer.getInt(36);
+    }
+
+    public static ItemSearchSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a search segment: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a search segment: " + file);
+            }
+            return new ItemSearchSegment(file, buffer);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int ordinal) {
+        return buffer.getLong(docsOffset + ordinal * DOC_BYTES);
+    }
+
+    public boolean contains(long id) {
+        int ordinal = ordinalAfter(id - 1);
+        return ordinal < size && id(ordinal) == id;
+    }
+
+    public int ordinalAfter(long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (id(middle) <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public ItemDto item(int ordinal) {
+        int text = textOffset(ordinal);
+        int nameLength = buffer.getInt(text);
+        int descriptionLength = buffer.getInt(text + 4);
+        int chars = text + 16;
+        return new ItemDto(id(ordinal), chars(chars, nameLength),
+                chars(chars + 2 * nameLength, descriptionLength), true);
+    }
+
+    public boolean matches(int ordinal, String query) {
+        int text = textOffset(ordinal);
+        int nameLength = buffer.getInt(text);
+        int descriptionLength = buffer.getInt(text + 4);
+        int lowerNameLength = buffer.getInt(text + 8);
+        int lowerDescriptionLength = buffer.getInt(text + 12);
+        int lowerName = text + 16 + 2 * (nameLength + descriptionLength);
+        return contains(lowerName, lowerNameLength, query)
+                || contains(lowerName + 2 * lowerNameLength, lowerDescriptionLength, query);
+    }
+
+    public PrimitiveIterator.OfInt candidates(String query, int fromOrdinal) {
+        Set<String> grams = ItemSearchIndex.grams(query);
+        if (grams.isEmpty()) {
+            return IntStream.range(fromOrdinal, size).iterator();
+        }
+        List<int[]> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            int[] list = postings(key(gram));
+            if (list == null) {
+                return IntStream.empty().iterator();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list[1]));
+        return new Intersection(lists, fromOrdinal);
+    }
+
+    private int[] postings(long key) {
+        int low = 0;
+        int high = gramCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = buffer.getLong(gramsOffset + middle * GRAM_BYTES);
+            if (middleKey < key) {
+                low = middle + 1;
+            } else if (middleKey > key) {
+                high = middle - 1;
+            } else {
+                int position = gramsOffset + middle * GRAM_BYTES;
+                return new int[]{buffer.getInt(position + 8), buffer.getInt(position + 12)};
+            }
+        }
+        return null;
+    }
+
+    private int posting(int index) {
+        return buffer.getInt(postingsOffset + index * 4);
+    }
+
+    private int textOffset(int ordinal) {
+        return textsOffset + buffer.getInt(docsOffset + ordinal * DOC_BYTES + 8);
+    }
+
+    private String chars(int position, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar(position + 2 * i);
+        }
+        return new String(chars);
+    }
+
+    private boolean contains(int position, int length, String query) {
+        int last = length - query.length();
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < query.length() && buffer.getChar(position + 2 * (start + i)) == query.charAt(i)) {
+                i++;
+            }
+            if (i == query.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long key(String gram) {
+        return (long) gram.charAt(0) << 32 | (long) gram.charAt(1) << 16 | gram.charAt(2);
+    }
+
+    private final class Intersection implements PrimitiveIterator.OfInt {
+        private final int[][] lists;
+        private int next = -1;
+
+        private Intersection(List<int[]> ranges, int fromOrdinal) {
+            lists = new int[ranges.size()][];
+            for (int i = 0; i < ranges.size(); i++) {
+                int start = ranges.get(i)[0];
+                int end = start + ranges.get(i)[1];
+                lists[i] = new int[]{lowerBound(start, end, fromOrdinal), end};
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            int[] first = lists[0];
+            while (first[0] < first[1]) {
+                int ordinal = posting(first[0]++);
+                if (inOthers(ordinal)) {
+                    next = ordinal;
+                    return;
+                }
+            }
+            next = -1;
+        }
+
+        private boolean inOthers(int ordinal) {
+            for (int i = 1; i < lists.length; i++) {
+                int[] list = lists[i];
+                list[0] = lowerBound(list[0], list[1], ordinal);
+                if (list[0] == list[1]) {
+                    lists[0][0] = lists[0][1];
+                    return false;
+                }
+                if (posting(list[0]) != ordinal) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int lowerBound(int low, int high, int ordinal) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (posting(middle) < ordinal) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    public static final class Writer {
+        private final LocalDateTime watermark;
+        private final List<ItemDto> items = new ArrayList<>();
+
+        public Writer(LocalDateTime watermark) {
+            this.watermark = watermark;
+        }
+
+        public void add(ItemDto item) {
+            if (!items.isEmpty() && items.getLast().id() >= item.id()) {
+                throw new IllegalArgumentException("Items must be added in ascending id order");
+            }
+            items.add(item);
+        }
+
+        // Файл пишется рядом и переносится на место, чтобы сбой не оставил его недописанным
+        public ItemSearchSegment write(Path target) throws IOException {
+            TreeMap<Long, IntList> postings = new TreeMap<>();
+            List<String[]> texts = new ArrayList<>(items.size());
+            long textBytes = 0;
+            for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+                ItemDto item = items.get(ordinal);
+                String[] text = {
+                        Objects.requireNonNullElse(item.name(), ""),
+                        Objects.requireNonNullElse(item.description(), ""),
+                        ItemSearchIndex.lower(item.name()),
+                        ItemSearchIndex.lower(item.description())
+                };
+                texts.add(text);
+                textBytes += 16 + 2L * (text[0].length() + text[1].length() + text[2].length() + text[3].length());
+                Set<String> grams = ItemSearchIndex.grams(text[2]);
+                grams.addAll(ItemSearchIndex.grams(text[3]));
+                for (String gram : grams) {
+                    postings.computeIfAbsent(key(gram), k -> new IntList()).add(ordinal);
+                }
+            }
+            long postingCount = postings.values().stream().mapToLong(list -> list.size).sum();
+
+            long docsOffset = HEADER_BYTES;
+            long gramsOffset = docsOffset + (long) items.size() * DOC_BYTES;
+            long postingsOffset = gramsOffset + (long) postings.size() * GRAM_BYTES;
+            long textsOffset = postingsOffset + postingCount * 4;
+            if (textsOffset + textBytes > Integer.MAX_VALUE) {
+                throw new IOException("Search segment exceeds 2GB: " + target);
+            }
+
+            Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(watermark.toInstant(ZoneOffset.UTC).toEpochMilli());
+                out.writeInt(items.size());
+                out.writeInt(postings.size());
+                out.writeInt((int) docsOffset);
+                out.writeInt((int) gramsOffset);
+                out.writeInt((int) postingsOffset);
+                out.writeInt((int) textsOffset);
+
+                int textOffset = 0;
+                for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+                    String[] text = texts.get(ordinal);
+                    out.writeLong(items.get(ordinal).id());
+                    out.writeInt(textOffset);
+                    textOffset += 16 + 2 * (text[0].length() + text[1].length() + text[2].length() + text[3].length());
+                }
+                int postingStart = 0;
+                for (Map.Entry<Long, IntList> entry : postings.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(postingStart);
+                    out.writeInt(entry.getValue().size);
+                    postingStart += entry.getValue().size;
+                }
+                for (IntList list : postings.values()) {
+                    for (int i = 0; i < list.size; i++) {
+                        out.writeInt(list.values[i]);
+                    }
+                }
+                for (String[] text : texts) {
+                    for (String value : text) {
+                        out.writeInt(value.length());
+                    }
+                    for (String value : text) {
+                        out.writeChars(value);
+                    }
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return open(target);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
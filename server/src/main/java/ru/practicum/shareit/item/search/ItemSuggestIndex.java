@@ -0,0 +1,267 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Каждый узел хранит лучшие дополнения, поэтому поиск проходит только по префиксу
+@Component
+public class ItemSuggestIndex {
+    private static final long NODE_BYTES = 96;
+    private static final long NAME_BYTES = 64;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> ORDER = Comparator.comparingInt(Suggestion::count).reversed()
+            .thenComparing(Suggestion::name);
+
+    private final int limit;
+    private final long memoryBudget;
+    private final Map<Long, String> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private long estimatedBytes;
+    private volatile boolean ready;
+
+    public ItemSuggestIndex(ItemSearchProperties properties) {
+        this.limit = properties.suggestLimit();
+        this.memoryBudget = properties.suggestMemoryBudget().toBytes();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean put(long id, String name, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (!available || name == null || name.isBlank()) {
+                return true;
+            }
+
+            String key = name.toLowerCase(Locale.ROOT);
+            long required = nameBytes(name) + NODE_BYTES * missingNodes(key);
+            if (estimatedBytes + required > memoryBudget) {
+                return false;
+            }
+
+            List<Node> path = path(key, true);
+            Node node = path.getLast();
+            if (node.names == null) {
+                node.names = new TreeMap<>();
+            }
+            int count = node.names.merge(name, 1, Integer::sum);
+            names.put(id, name);
+            estimatedBytes += nameBytes(name);
+            refresh(path, name, count, false);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            names.clear();
+            estimatedBytes = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(size)
+                    .map(Suggestion::name)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long id) {
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        estimatedBytes -= nameBytes(name);
+
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> path = path(key, false);
+        Node node = path.getLast();
+        Integer count = node.names.computeIfPresent(name, (n, c) -> c == 1 ? null : c - 1);
+        if (node.names.isEmpty()) {
+            node.names = null;
+        }
+
+        int depth = key.length();
+        while (depth > 0 && path.get(depth).isEmpty()) {
+            path.get(depth - 1).removeChild(key.charAt(depth - 1));
+            path.remove(depth);
+            estimatedBytes -= NODE_BYTES;
+            depth--;
+        }
+        refresh(path, name, count == null ? 0 : count, true);
+    }
+
+    private List<Node> path(String key, boolean create) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null && create) {
+                child = node.addChild(key.charAt(i));
+                estimatedBytes += NODE_BYTES;
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private int missingNodes(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return key.length() - i;
+            }
+        }
+        return 0;
+    }
+
+    private void refresh(List<Node> path, String name, int count, boolean decreased) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Suggestion> top = new ArrayList<>(node.top.length + 1);
+            for (Suggestion suggestion : node.top) {
+                if (!suggestion.name().equals(name)) {
+                    top.add(suggestion);
+                }
+            }
+            boolean wasFull = node.top.length == limit;
+            if (decreased && wasFull && top.size() < node.top.length) {
+                node.top = collect(node);
+                continue;
+            }
+            if (count > 0) {
+                top.add(new Suggestion(name, count));
+            }
+            top.sort(ORDER);
+            node.top = top.stream()
+                    .limit(limit)
+                    .toArray(Suggestion[]::new);
+        }
+    }
+
+    private Suggestion[] collect(Node node) {
+        List<Suggestion> candidates = new ArrayList<>();
+        if (node.names != null) {
+            node.names.forEach((name, count) -> candidates.add(new Suggestion(name, count)));
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(ORDER);
+        return candidates.stream()
+                .limit(limit)
+                .toArray(Suggestion[]::new);
+    }
+
+    private static long nameBytes(String name) {
+        return NAME_BYTES + 2L * name.length();
+    }
+
+    private record Suggestion(String name, int count) {
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private SortedMap<String, Integer> names;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char c) {
+            int index = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return names == null && keys.length == 0;
+        }
+    }
+}
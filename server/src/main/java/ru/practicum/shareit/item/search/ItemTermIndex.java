@@ -0,0 +1,298 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchQuery;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Слово в пределах k правок имеет с термом не меньше |term| + 1 - 3k общих биграмм
+@Component
+public class ItemTermIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final String PAD = "$";
+    private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<String, Set<String>> wordsByGram = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long id, String name, String description, boolean available) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (!available) {
+                return;
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String word : words(name)) {
+                frequencies.merge(word, NAME_WEIGHT, Integer::sum);
+            }
+            for (String word : words(description)) {
+                frequencies.merge(word, 1, Integer::sum);
+            }
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            documents.put(id, new Document(frequencies, length));
+            totalLength += length;
+            frequencies.forEach((word, frequency) -> postings.computeIfAbsent(word, this::addWord).put(id, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            wordsByGram.clear();
+            totalLength = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(ItemSearchQuery query, int offset) {
+        Set<String> terms = new LinkedHashSet<>(words(query.text()));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            boolean all = query.operator() == SearchOperator.AND;
+            Iterator<String> iterator = terms.iterator();
+            Map<Long, Match> matches = match(iterator.next(), query.fuzzy(), null);
+            while (iterator.hasNext() && !(all && matches.isEmpty())) {
+                Map<Long, Match> hits = match(iterator.next(), query.fuzzy(), all ? matches : null);
+                if (all) {
+                    matches.keySet().retainAll(hits.keySet());
+                    matches.replaceAll((id, match) -> match.plus(hits.get(id)));
+                } else {
+                    hits.forEach((id, hit) -> matches.merge(id, hit, Match::plus));
+                }
+            }
+
+            Comparator<Map.Entry<Long, Match>> order = query.sort() == SearchSort.RELEVANCE
+                    ? Comparator.comparing((Map.Entry<Long, Match> entry) -> entry.getValue().score()).reversed()
+                    : Comparator.comparing((Map.Entry<Long, Match> entry) -> entry.getValue().terms()).reversed()
+                    .thenComparing(entry -> entry.getValue().distance());
+            return top(matches.entrySet(), order.thenComparing(Map.Entry.comparingByKey()), offset, query.size())
+                    .stream()
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int maxDistance(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    // Расстояние OSA, как только оно больше maxDistance, возвращается maxDistance + 1
+    static int distance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    static <T> List<T> top(Collection<T> values, Comparator<? super T> order, int offset, int limit) {
+        int bound = (int) Math.min((long) offset + limit, values.size());
+        if (bound <= offset) {
+            return List.of();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(bound, order.reversed());
+        for (T value : values) {
+            if (heap.size() < bound) {
+                heap.add(value);
+            } else if (order.compare(value, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(value);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result.subList(offset, result.size());
+    }
+
+    private Map<Long, Match> match(String term, boolean fuzzy, Map<Long, Match> restriction) {
+        int maxDistance = fuzzy ? maxDistance(term.length()) : 0;
+        double averageLength = (double) totalLength / documents.size();
+        Map<Long, Match> hits = new HashMap<>();
+        for (String word : candidates(term, maxDistance)) {
+            int distance = distance(term, word, maxDistance);
+            if (distance > maxDistance) {
+                continue;
+            }
+            Map<Long, Integer> posting = postings.get(word);
+            double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+            posting.forEach((id, frequency) -> {
+                if (restriction != null && !restriction.containsKey(id)) {
+                    return;
+                }
+                double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                double score = idf * frequency * (K1 + 1) / (frequency + norm) / (1 + distance);
+                hits.merge(id, new Match(1, distance, score), Match::best);
+            });
+        }
+        return hits;
+    }
+
+    private Collection<String> candidates(String term, int maxDistance) {
+        if (maxDistance == 0) {
+            return postings.containsKey(term) ? List.of(term) : List.of();
+        }
+        List<String> grams = grams(term);
+        int threshold = grams.size() - 3 * maxDistance;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String word : wordsByGram.getOrDefault(gram, Set.of())) {
+                shared.merge(word, 1, Integer::sum);
+            }
+        }
+        return shared.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private Map<Long, Integer> addWord(String word) {
+        for (String gram : grams(word)) {
+            wordsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(word);
+        }
+        return new HashMap<>();
+    }
+
+    private void removeInternal(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String word : document.frequencies().keySet()) {
+            Map<Long, Integer> posting = postings.get(word);
+            posting.remove(id);
+            if (!posting.isEmpty()) {
+                continue;
+            }
+            postings.remove(word);
+            for (String gram : grams(word)) {
+                Set<String> gramWords = wordsByGram.get(gram);
+                gramWords.remove(word);
+                if (gramWords.isEmpty()) {
+                    wordsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    public static boolean hasSeveralWords(String text) {
+        return words(text).size() > 1;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split(SEPARATORS)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> grams(String word) {
+        String padded = PAD + word + PAD;
+        List<String> grams = new ArrayList<>(padded.length() - 1);
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private record Document(Map<String, Integer> frequencies, int length) {
+    }
+
+    private record Match(int terms, int distance, double score) {
+
+        private static Match best(Match a, Match b) {
+            return new Match(1, Math.min(a.distance, b.distance), Math.max(a.score, b.score));
+        }
+
+        private Match plus(Match other) {
+            return new Match(terms + other.terms, distance + other.distance, score + other.score);
+        }
+    }
+}
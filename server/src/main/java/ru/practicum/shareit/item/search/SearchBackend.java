@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.search;
+
+public enum SearchBackend {
+    // LOWER(...) LIKE '%text%' по названию и описанию, на PostgreSQL его обслуживают pg_trgm индексы
+    LIKE,
+    // Полнотекстовый поиск PostgreSQL по items.search_vector
+    FULLTEXT
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// offset нужен только первой странице и выдаче по релевантности, остальные продолжаются по id
+public record SearchCursor(long afterId, int offset) {
+
+    public static SearchCursor start(int from) {
+        return new SearchCursor(0, from);
+    }
+
+    public static SearchCursor decode(String value) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(value);
+            }
+            SearchCursor cursor = new SearchCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+            if (cursor.afterId() < 0 || cursor.offset() < 0) {
+                throw new IllegalArgumentException(value);
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid search cursor: " + value);
+        }
+    }
+
+    public SearchCursor afterKey(long lastId) {
+        return new SearchCursor(lastId, 0);
+    }
+
+    public SearchCursor afterOffset(int size) {
+        return new SearchCursor(afterId, offset + size);
+    }
+
+    public String encode() {
+        String value = afterId + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.search;
+
+public enum SearchOperator {
+    // Вещь должна содержать все слова запроса
+    AND,
+    // Достаточно любого слова запроса
+    OR
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.search;
+
+public enum SearchSort {
+    // По id, в нечётком режиме сначала вещи с меньшим числом опечаток
+    DEFAULT,
+    // По убыванию BM25 по названию и описанию
+    RELEVANCE
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "shareit.item.comments")
+public record ItemCommentProperties(
+        @DefaultValue("10") int previewSize) {
+}
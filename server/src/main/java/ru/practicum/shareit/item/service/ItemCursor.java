@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Вещи владельца идут по item_id, следующая страница начинается после этого id
+public record ItemCursor(long id) {
+
+    public static ItemCursor decode(String value) {
+        try {
+            long id = Long.parseLong(new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8));
+            if (id < 0) {
+                throw new IllegalArgumentException(value);
+            }
+            return new ItemCursor(id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid item cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.stream.StreamSource;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -10,13 +13,27 @@ public interface ItemService {
 
     ItemWithCommentDto getItemById(long itemId, long userId);
 
-    List<ItemWithCommentDto> getPersonalItems(long userId);
+    ItemPage getPersonalItems(long userId, int from, int size, String cursor);
+
+    ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
+
+    StreamSource<ItemWithCommentDto> streamPersonalItems(long userId);
 
     ItemDto updateItem(long itemId, UpdateItemRequest request, long userId);
 
-    List<ItemDto> searchItems(String text);
+    ItemSearchPage searchItems(ItemSearchQuery query);
+
+    StreamSource<ItemDto> streamSearchItems(String text);
+
+    ItemFacetPage searchFacets(ItemFacetQuery query, long userId);
+
+    List<String> suggestItemNames(String prefix, int size);
 
     Item getItemByIdOrThrow(long itemId);
 
+    void refreshBookingDates(Collection<Long> itemIds);
+
+    CommentPage getComments(long itemId, int size, String cursor);
+
     CommentDto addComment(long itemId, long userId, NewCommentRequest text);
 }
@@ -1,43 +1,92 @@
 package ru.practicum.shareit.item.service;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemView;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dates.ItemBookingDatesProperties;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QComment;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.search.ItemFacetCounter;
+import ru.practicum.shareit.item.search.ItemFacetIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.search.ItemTermIndex;
+import ru.practicum.shareit.item.search.SearchBackend;
+import ru.practicum.shareit.item.search.SearchCursor;
+import ru.practicum.shareit.item.search.SearchOperator;
+import ru.practicum.shareit.item.search.SearchSort;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.stream.StreamSource;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Set<BookingStatus> BUSY_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final UserService userService;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestService itemRequestService;
+    private final ItemSearchIndex searchIndex;
+    private final ItemSuggestIndex suggestIndex;
+    private final ItemTermIndex termIndex;
+    private final ItemFacetIndex facetIndex;
+    private final ItemSearchProperties searchProperties;
+    private final ItemBookingDatesProperties bookingDatesProperties;
+    private final ItemViewCache itemViewCache;
+    private final ItemCommentProperties commentProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
 
     @Override
     @Transactional
@@ -51,28 +100,97 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepository.save(item);
+        publishItemChanged(item);
         log.info("Добавлена новая вещь \"{}\" c id {}", item.getName(), item.getId());
         return itemMapper.toDto(item);
     }
 
     @Override
     public ItemWithCommentDto getItemById(long itemId, long userId) {
-        Item item = itemRepository.findByIdWithComments(itemId)
-                .orElseThrow(() -> new NotFoundException("Item not found with ID: " + itemId));
+        ItemView view = itemViewCache.get(itemId, () -> loadItemView(itemId));
 
-        if (item.getOwner().getId() == userId) {
-            return getLastAndNextBooking(List.of(item)).getFirst();
+        if (view.ownerId() == userId) {
+            ItemBookingDatesDto dates = getLastAndNextBooking(itemId);
+            return itemMapper.withBookingDates(view.item(), dates.lastBooking(), dates.nextBooking());
         } else {
-            return itemMapper.toItemWithCommentDto(item, null, null);
+            return view.item();
+        }
+    }
+
+    @Override
+    public ItemPage getPersonalItems(long ownerId, int from, int size, String cursor) {
+        if (from < 0 || size <= 0) {
+            throw new BadRequestException("Parameter from must not be negative and size must be positive");
+        }
+        ItemCursor after = cursor == null ? null : ItemCursor.decode(cursor);
+        userService.getUserById(ownerId);
+
+        // без size отдаётся весь список, лишняя строка для курсора не нужна
+        int limit = size == Integer.MAX_VALUE ? size : size + 1;
+        List<Long> ids = after == null
+                ? itemRepository.findIdsByOwnerId(ownerId, from, limit)
+                : itemRepository.findIdsByOwnerIdAfter(ownerId, after.id(), limit);
+        if (ids.size() <= size) {
+            return new ItemPage(getPersonalItemsByIds(ids), null);
+        }
+        List<Long> page = ids.subList(0, size);
+        return new ItemPage(getPersonalItemsByIds(page), new ItemCursor(page.getLast()).encode());
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Parameter from must be before to");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found with ID: " + itemId);
+        }
+
+        List<TimeIntervalDto> busy = new ArrayList<>();
+        for (TimeIntervalDto period : bookingRepository.findPeriodsByItemIdAndStatusInBetween(
+                itemId, BUSY_STATUSES, from, to)) {
+            LocalDateTime start = period.start().isBefore(from) ? from : period.start();
+            LocalDateTime end = period.end().isAfter(to) ? to : period.end();
+            if (busy.isEmpty() || start.isAfter(busy.getLast().end())) {
+                busy.add(new TimeIntervalDto(start, end));
+            } else if (end.isAfter(busy.getLast().end())) {
+                busy.set(busy.size() - 1, new TimeIntervalDto(busy.getLast().start(), end));
+            }
+        }
+
+        List<TimeIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (TimeIntervalDto period : busy) {
+            if (period.start().isAfter(freeFrom)) {
+                free.add(new TimeIntervalDto(freeFrom, period.start()));
+            }
+            freeFrom = period.end();
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new TimeIntervalDto(freeFrom, to));
         }
+        return new ItemAvailabilityDto(itemId, from, to, free, busy);
     }
 
     @Override
-    public List<ItemWithCommentDto> getPersonalItems(long ownerId) {
+    public StreamSource<ItemWithCommentDto> streamPersonalItems(long ownerId) {
         userService.getUserById(ownerId);
 
-        List<Item> items = itemRepository.findByOwnerIdWithComments(ownerId);
-        return getLastAndNextBooking(items);
+        return consumer -> {
+            List<Long> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+            try (Stream<Long> ids = itemRepository.streamIdsByOwnerId(ownerId)) {
+                ids.forEach(id -> {
+                    batch.add(id);
+                    if (batch.size() == STREAM_BATCH_SIZE) {
+                        streamPersonalItemsBatch(batch, consumer);
+                        batch.clear();
+                    }
+                });
+            }
+            if (!batch.isEmpty()) {
+                streamPersonalItemsBatch(batch, consumer);
+            }
+        };
     }
 
     @Override
@@ -85,16 +203,113 @@ public class ItemServiceImpl implements ItemService {
         }
         itemMapper.updateItemFromRequest(item, request);
         item = itemRepository.save(item);
+        publishItemChanged(item);
         log.info("Обновлена вещь \"{}\" с id {}", item.getName(), item.getId());
         return itemMapper.toDto(item);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
-        if (text.isBlank()) return List.of();
-        return itemRepository.searchByNameOrDescriptionAndAvailableIsTrue(text).stream()
+    public ItemSearchPage searchItems(ItemSearchQuery query) {
+        if (query.from() < 0 || query.size() <= 0) {
+            throw new BadRequestException("Parameter from must not be negative and size must be positive");
+        }
+        if (query.text().isBlank()) return new ItemSearchPage(List.of(), null);
+
+        SearchCursor cursor = query.cursor() == null
+                ? SearchCursor.start(query.from())
+                : SearchCursor.decode(query.cursor());
+        if (!termIndex.isReady()) {
+            if (query.fuzzy()) {
+                throw new BadRequestException("fuzzy=true requires the term index");
+            }
+            if (query.operator() == SearchOperator.OR) {
+                throw new BadRequestException("operator=OR requires the term index");
+            }
+            if (query.sort() == SearchSort.RELEVANCE) {
+                throw new BadRequestException("sort=RELEVANCE requires the term index");
+            }
+        }
+        boolean termSearch = query.fuzzy() || query.sort() == SearchSort.RELEVANCE
+                || query.operator() == SearchOperator.OR || ItemTermIndex.hasSeveralWords(query.text());
+        if (termSearch && termIndex.isReady()) {
+            return searchTerms(query, cursor);
+        }
+
+        boolean ranked = !searchIndex.isReady() && searchProperties.backend() == SearchBackend.FULLTEXT;
+
+        List<ItemDto> items = searchIndex.isReady()
+                ? searchIndex.search(query.text(), cursor.afterId(), cursor.offset(), query.size())
+                : findAvailableItems(query.text(), cursor, query.size()).stream()
                 .map(itemMapper::toDto)
                 .toList();
+
+        if (items.size() < query.size()) {
+            return new ItemSearchPage(items, null);
+        }
+        SearchCursor next = ranked ? cursor.afterOffset(query.size()) : cursor.afterKey(items.getLast().id());
+        return new ItemSearchPage(items, next.encode());
+    }
+
+    @Override
+    public StreamSource<ItemDto> streamSearchItems(String text) {
+        if (text.isBlank()) {
+            return consumer -> {
+            };
+        }
+        if (searchIndex.isReady()) {
+            return consumer -> searchIndex.search(text).forEach(consumer);
+        }
+
+        if (searchProperties.backend() == SearchBackend.FULLTEXT) {
+            return consumer -> {
+                try (Stream<Item> items = itemRepository.streamByFullTextAndAvailableIsTrue(text)) {
+                    items.forEach(item -> {
+                        consumer.accept(itemMapper.toDto(item));
+                        entityManager.detach(item);
+                    });
+                }
+            };
+        }
+
+        return consumer -> {
+            try (Stream<ItemDto> items = itemRepository.streamByNameOrDescriptionAndAvailableIsTrue(text)) {
+                items.forEach(consumer);
+            }
+        };
+    }
+
+    @Override
+    public ItemFacetPage searchFacets(ItemFacetQuery query, long userId) {
+        if (query.from() < 0 || query.size() <= 0) {
+            throw new BadRequestException("Parameter from must not be negative and size must be positive");
+        }
+        boolean ownView = query.ownerId() != null && query.ownerId() == userId;
+        if (!ownView) {
+            if (Boolean.FALSE.equals(query.available())) {
+                return new ItemFacetPage(List.of(), 0, new ItemFacetCounter().toCounts());
+            }
+            query = new ItemFacetQuery(query.text(), query.ownerId(), query.requestId(), true, query.from(),
+                    query.size());
+        }
+
+        if (facetIndex.isReady()) {
+            return facetIndex.search(query);
+        }
+        return findFacets(query);
+    }
+
+    @Override
+    public List<String> suggestItemNames(String prefix, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Parameter size must be positive");
+        }
+        if (prefix.isBlank()) return List.of();
+
+        int limit = Math.min(size, searchProperties.suggestLimit());
+        if (suggestIndex.isReady()) {
+            return suggestIndex.suggest(prefix, limit);
+        }
+        return itemRepository.findAvailableNamesByPrefix(prefix, Limit.of(limit));
     }
 
     @Override
@@ -103,6 +318,32 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Item not found with ID: " + itemId));
     }
 
+    @Override
+    @Transactional
+    public void refreshBookingDates(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            itemRepository.refreshBookingDates(itemIds, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public CommentPage getComments(long itemId, int size, String cursor) {
+        if (size <= 0) {
+            throw new BadRequestException("Parameter size must be positive");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found with ID: " + itemId);
+        }
+
+        List<Comment> rows = selectComments(itemId, cursor == null ? null : CommentCursor.decode(cursor), size + 1);
+        if (rows.size() <= size) {
+            return new CommentPage(rows.stream().map(itemMapper::toCommentDto).toList(), null);
+        }
+        Comment last = rows.get(size - 1);
+        return new CommentPage(rows.subList(0, size).stream().map(itemMapper::toCommentDto).toList(),
+                new CommentCursor(last.getCreated(), last.getId()).encode());
+    }
+
     @Override
     @Transactional
     public CommentDto addComment(long itemId, long userId, NewCommentRequest text) {
@@ -127,38 +368,180 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(user);
 
         comment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        eventPublisher.publishEvent(new CommentAddedEvent(itemId, comment.getId()));
         log.info("Добавлен комментарий к вещи с id {} от пользователя с id {}", itemId, userId);
         return itemMapper.toCommentDto(comment);
     }
 
-    private List<ItemWithCommentDto> getLastAndNextBooking(List<Item> items) {
-        List<Long> itemIds = items.stream()
+    private List<Item> findAvailableItems(String text, SearchCursor cursor, int size) {
+        return switch (searchProperties.backend()) {
+            case LIKE -> itemRepository.searchByNameOrDescriptionAndAvailableIsTrue(
+                    text, cursor.afterId(), cursor.offset(), size);
+            case FULLTEXT -> itemRepository.searchByFullTextAndAvailableIsTrue(text, cursor.offset(), size);
+        };
+    }
+
+    private ItemSearchPage searchTerms(ItemSearchQuery query, SearchCursor cursor) {
+        List<Long> ids = termIndex.search(query, cursor.offset());
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<ItemDto> items = ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(itemMapper::toDto)
+                .toList();
+
+        if (ids.size() < query.size()) {
+            return new ItemSearchPage(items, null);
+        }
+        return new ItemSearchPage(items, cursor.afterOffset(query.size()).encode());
+    }
+
+    private ItemFacetPage findFacets(ItemFacetQuery query) {
+        QItem item = QItem.item;
+        BooleanBuilder where = new BooleanBuilder();
+        if (!query.text().isBlank()) {
+            where.and(item.name.containsIgnoreCase(query.text()).or(item.description.containsIgnoreCase(query.text())));
+        }
+        if (query.ownerId() != null) {
+            where.and(item.owner.id.eq(query.ownerId()));
+        }
+        if (query.requestId() != null) {
+            where.and(item.request.id.eq(query.requestId()));
+        }
+        if (query.available() != null) {
+            where.and(item.available.eq(query.available()));
+        }
+
+        Long total = queryFactory.select(item.count())
+                .from(item)
+                .where(where)
+                .fetchOne();
+        List<Long> ids = queryFactory.select(item.id)
+                .from(item)
+                .where(where)
+                .orderBy(item.id.asc())
+                .offset(query.from())
+                .limit(query.size())
+                .fetch();
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<ItemDto> items = ids.stream()
+                .map(itemsById::get)
+                .map(itemMapper::toDto)
+                .toList();
+
+        NumberExpression<Long> count = item.count();
+        Map<Boolean, Integer> availability = new LinkedHashMap<>();
+        queryFactory.select(item.available, count)
+                .from(item)
+                .where(where)
+                .groupBy(item.available)
+                .orderBy(item.available.desc())
+                .fetch()
+                .forEach(row -> availability.put(row.get(item.available), row.get(count).intValue()));
+        ItemFacetCounts facets = new ItemFacetCounts(
+                countFacet(item.owner.id, where), countFacet(item.request.id, where), availability);
+        return new ItemFacetPage(items, total == null ? 0 : total.intValue(), facets);
+    }
+
+    private Map<Long, Integer> countFacet(NumberPath<Long> key, Predicate where) {
+        QItem item = QItem.item;
+        NumberExpression<Long> count = item.count();
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        queryFactory.select(key, count)
+                .from(item)
+                .where(where, key.isNotNull())
+                .groupBy(key)
+                .orderBy(count.desc(), key.asc())
+                .limit(ItemFacetCounter.LIMIT)
+                .fetch()
+                .forEach(row -> result.put(row.get(key), row.get(count).intValue()));
+        return result;
+    }
+
+    private void streamPersonalItemsBatch(List<Long> ids, Consumer<? super ItemWithCommentDto> consumer) {
+        getPersonalItemsByIds(ids).forEach(consumer);
+        entityManager.clear();
+    }
+
+    private List<ItemWithCommentDto> getPersonalItemsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Item> items = itemRepository.findByIdInOrderById(ids);
+        List<Long> commentedIds = items.stream()
+                .filter(item -> item.getCommentCount() > 0)
                 .map(Item::getId)
                 .toList();
+        Map<Long, List<Comment>> commentsByItem = commentedIds.isEmpty() ? Map.of() : commentRepository
+                .findLatestByItemIdIn(commentedIds, commentProperties.previewSize()).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return getLastAndNextBooking(items, commentsByItem);
+    }
 
-        Map<Long, List<BookingForItemDto>> bookingsByItem = bookingRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(BookingForItemDto::itemId));
+    private void publishItemChanged(Item item) {
+        eventPublisher.publishEvent(new ItemChangedEvent(
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getOwner().getId(),
+                item.getRequest() == null ? null : item.getRequest().getId()));
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    private ItemView loadItemView(long itemId) {
+        Item item = getItemByIdOrThrow(itemId);
+        List<Comment> comments = item.getCommentCount() == 0
+                ? List.of()
+                : selectComments(itemId, null, commentProperties.previewSize());
+        return new ItemView(item.getOwner().getId(), itemMapper.toItemWithCommentDto(item, null, null, comments));
+    }
 
-        return items.stream()
-                .map(item -> {
-                    List<BookingForItemDto> bookings = bookingsByItem.getOrDefault(item.getId(), List.of());
+    private List<Comment> selectComments(long itemId, CommentCursor after, int limit) {
+        QComment comment = QComment.comment;
+        JPAQuery<Comment> query = queryFactory.selectFrom(comment)
+                .where(comment.item.id.eq(itemId))
+                .orderBy(comment.created.desc(), comment.id.desc())
+                .limit(limit);
+        if (after != null) {
+            query.where(comment.created.loe(after.created())
+                    .and(comment.created.lt(after.created()).or(comment.id.lt(after.id()))));
+        }
+        return query.fetch();
+    }
 
-                    BookingForItemDto last = bookings.stream()
-                            .filter(b -> b.end().isBefore(now))
-                            .max(Comparator.comparing(BookingForItemDto::end))
-                            .orElse(null);
+    private ItemBookingDatesDto getLastAndNextBooking(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        return (bookingDatesProperties.enabled()
+                ? itemRepository.findFreshBookingDates(itemId, now)
+                : Optional.<ItemBookingDatesDto>empty())
+                .or(() -> bookingRepository.findLastAndNextBookings(List.of(itemId), now).stream().findFirst())
+                .orElseGet(() -> new ItemBookingDatesDto(itemId, null, null));
+    }
 
-                    BookingForItemDto next = bookings.stream()
-                            .filter(b -> b.start().isAfter(now))
-                            .min(Comparator.comparing(BookingForItemDto::start))
-                            .orElse(null);
+    private List<ItemWithCommentDto> getLastAndNextBooking(List<Item> items,
+                                                           Map<Long, List<Comment>> commentsByItem) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> staleIds = items.stream()
+                .filter(item -> !bookingDatesProperties.enabled() || item.getBookingDatesStaleAt() != null
+                        && item.getBookingDatesStaleAt().isBefore(now))
+                .map(Item::getId)
+                .toList();
 
-                    LocalDateTime lastStart = last != null ? last.start() : null;
-                    LocalDateTime nextStart = next != null ? next.start() : null;
+        Map<Long, ItemBookingDatesDto> datesByItem = staleIds.isEmpty() ? Map.of() : bookingRepository
+                .findLastAndNextBookings(staleIds, now).stream()
+                .collect(Collectors.toMap(ItemBookingDatesDto::itemId, Function.identity()));
 
-                    return itemMapper.toItemWithCommentDto(item, lastStart, nextStart);
+        return items.stream()
+                .map(item -> {
+                    ItemBookingDatesDto dates = datesByItem.get(item.getId());
+                    List<Comment> comments = commentsByItem.getOrDefault(item.getId(), List.of());
+                    return dates == null
+                            ? itemMapper.toItemWithCommentDto(item, item.getLastBooking(), item.getNextBooking(),
+                                    comments)
+                            : itemMapper.toItemWithCommentDto(item, dates.lastBooking(), dates.nextBooking(),
+                                    comments);
                 })
                 .toList();
     }
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.stream;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface StreamSource<T> {
+    void forEach(Consumer<? super T> consumer);
+}
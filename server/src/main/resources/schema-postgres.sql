@@ -0,0 +1,20 @@
+alter TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('russian', name || ' ' || description)) STORED;
+create index IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector);
+
+create extension IF NOT EXISTS pg_trgm;
+create index IF NOT EXISTS idx_items_name_trgm ON items USING GIN (lower(name) gin_trgm_ops);
+create index IF NOT EXISTS idx_items_description_trgm ON items USING GIN (lower(description) gin_trgm_ops);
+
+create extension IF NOT EXISTS btree_gist;
+do '
+begin
+    alter TABLE bookings ADD CONSTRAINT bookings_item_period_excl
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (status IN (''WAITING'', ''APPROVED''));
+exception
+    when duplicate_table or duplicate_object then null;
+    when exclusion_violation then
+        raise exception ''bookings overlap, constraint bookings_item_period_excl cannot be created''
+            using hint = ''Reject or cancel the overlapping WAITING/APPROVED bookings of the same item and restart'';
+end';
@@ -19,6 +19,15 @@ create TABLE IF NOT EXISTS items (
     owner_id BIGINT NOT NULL REFERENCES users(user_id),
     request_id BIGINT REFERENCES item_requests(request_id)
 );
+alter TABLE items ADD COLUMN IF NOT EXISTS modified TIMESTAMP WITHOUT TIME ZONE;
+create index IF NOT EXISTS idx_items_modified ON items(modified);
+drop index IF EXISTS idx_items_owner;
+create index IF NOT EXISTS idx_items_owner_id ON items(owner_id, item_id);
+alter TABLE items ADD COLUMN IF NOT EXISTS last_booking TIMESTAMP WITHOUT TIME ZONE;
+alter TABLE items ADD COLUMN IF NOT EXISTS next_booking TIMESTAMP WITHOUT TIME ZONE;
+alter TABLE items ADD COLUMN IF NOT EXISTS booking_dates_stale_at TIMESTAMP WITHOUT TIME ZONE DEFAULT TIMESTAMP '1970-01-01 00:00:00';
+alter TABLE items ALTER COLUMN booking_dates_stale_at DROP DEFAULT;
+create index IF NOT EXISTS idx_items_booking_dates_stale_at ON items(booking_dates_stale_at);
 
 create TABLE IF NOT EXISTS bookings (
     booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -28,7 +37,47 @@ create TABLE IF NOT EXISTS bookings (
     start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
-create index IF NOT EXISTS idx_bookings_booker_status_start ON bookings(booker_id, status, start_time DESC);
+alter TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+drop index IF EXISTS idx_bookings_booker_status_start;
+create index IF NOT EXISTS idx_bookings_booker_start_id ON bookings(booker_id, start_time DESC, booking_id DESC);
+create index IF NOT EXISTS idx_bookings_booker_status_start_id ON bookings(booker_id, status, start_time DESC, booking_id DESC);
+create index IF NOT EXISTS idx_bookings_booker_end ON bookings(booker_id, end_time);
+create index IF NOT EXISTS idx_bookings_item_start ON bookings(item_id, start_time);
+create index IF NOT EXISTS idx_bookings_item_end ON bookings(item_id, end_time);
+drop index IF EXISTS idx_bookings_item_status_start_id;
+alter TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT REFERENCES users(user_id);
+update bookings b SET owner_id = (select i.owner_id from items i where i.item_id = b.item_id) WHERE b.owner_id IS NULL;
+alter TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+create index IF NOT EXISTS idx_bookings_owner_start_id ON bookings(owner_id, start_time DESC, booking_id DESC);
+create index IF NOT EXISTS idx_bookings_owner_status_start_id ON bookings(owner_id, status, start_time DESC, booking_id DESC);
+create index IF NOT EXISTS idx_bookings_owner_end ON bookings(owner_id, end_time);
+
+alter TABLE users ADD COLUMN IF NOT EXISTS booker_bookings BIGINT;
+alter TABLE users ADD COLUMN IF NOT EXISTS booker_waiting BIGINT;
+alter TABLE users ADD COLUMN IF NOT EXISTS booker_rejected BIGINT;
+alter TABLE users ADD COLUMN IF NOT EXISTS owner_bookings BIGINT;
+alter TABLE users ADD COLUMN IF NOT EXISTS owner_waiting BIGINT;
+alter TABLE users ADD COLUMN IF NOT EXISTS owner_rejected BIGINT;
+update users u SET
+    booker_bookings = (select count(*) from bookings b where b.booker_id = u.user_id),
+    booker_waiting = (select count(*) from bookings b where b.booker_id = u.user_id and b.status = 'WAITING'),
+    booker_rejected = (select count(*) from bookings b where b.booker_id = u.user_id and b.status = 'REJECTED'),
+    owner_bookings = (select count(*) from bookings b where b.owner_id = u.user_id),
+    owner_waiting = (select count(*) from bookings b where b.owner_id = u.user_id and b.status = 'WAITING'),
+    owner_rejected = (select count(*) from bookings b where b.owner_id = u.user_id and b.status = 'REJECTED')
+WHERE u.booker_bookings IS NULL;
+alter TABLE users ALTER COLUMN booker_bookings SET DEFAULT 0;
+alter TABLE users ALTER COLUMN booker_waiting SET DEFAULT 0;
+alter TABLE users ALTER COLUMN booker_rejected SET DEFAULT 0;
+alter TABLE users ALTER COLUMN owner_bookings SET DEFAULT 0;
+alter TABLE users ALTER COLUMN owner_waiting SET DEFAULT 0;
+alter TABLE users ALTER COLUMN owner_rejected SET DEFAULT 0;
+alter TABLE users ALTER COLUMN booker_bookings SET NOT NULL;
+alter TABLE users ALTER COLUMN booker_waiting SET NOT NULL;
+alter TABLE users ALTER COLUMN booker_rejected SET NOT NULL;
+alter TABLE users ALTER COLUMN owner_bookings SET NOT NULL;
+alter TABLE users ALTER COLUMN owner_waiting SET NOT NULL;
+alter TABLE users ALTER COLUMN owner_rejected SET NOT NULL;
 
 create TABLE IF NOT EXISTS comments (
     comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -39,3 +88,7 @@ create TABLE IF NOT EXISTS comments (
     author_id BIGINT REFERENCES users(user_id)
 );
 create index IF NOT EXISTS idx_comments_item_created ON comments(item_id, created DESC);
+alter TABLE items ADD COLUMN IF NOT EXISTS comment_count INTEGER;
+update items i SET comment_count = (select count(*) from comments c where c.item_id = i.item_id) where comment_count IS NULL;
+alter TABLE items ALTER COLUMN comment_count SET DEFAULT 0;
+alter TABLE items ALTER COLUMN comment_count SET NOT NULL;
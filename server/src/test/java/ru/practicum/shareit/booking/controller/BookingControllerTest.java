@@ -7,23 +7,42 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.stream.NdjsonStreamer;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
@@ -34,6 +53,10 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Spy
+    private NdjsonStreamer ndjsonStreamer =
+            new NdjsonStreamer(new ObjectMapper(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -80,6 +103,40 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("WAITING"));
     }
 
+    @Test
+    void createBookings_shouldReturnResultPerEntry() throws Exception {
+        when(bookingService.createBookings(any(), eq(1L))).thenReturn(List.of(
+                BookingBatchResult.created(0, bookingDto),
+                BookingBatchResult.failed(1, 409, "Item is already booked for the requested period")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newBookingRequest, newBookingRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.id").value(1L))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(409))
+                .andExpect(jsonPath("$[1].error").value("Item is already booked for the requested period"));
+    }
+
+    @Test
+    void decideBookings_shouldReturnResultPerDecision() throws Exception {
+        when(bookingService.decideBookings(List.of(new BookingDecision(1L, true), new BookingDecision(2L, false)), 1L))
+                .thenReturn(List.of(BookingDecisionResult.applied(1L, "APPROVED"),
+                        BookingDecisionResult.failed(2L, 403, "Only the owner can approve or reject the booking")));
+
+        mockMvc.perform(patch("/bookings/owner/decisions")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":1,\"approved\":true},{\"bookingId\":2,\"approved\":false}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingStatus").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(2L))
+                .andExpect(jsonPath("$[1].status").value(403));
+    }
+
     @Test
     void approveBooking_shouldReturnApprovedBooking() throws Exception {
         BookingDto approvedBooking = new BookingDto(
@@ -101,6 +158,34 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("APPROVED"));
     }
 
+    @Test
+    void approveBooking_shouldReturnConflictWhenBookingChangedConcurrently() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).setControllerAdvice(new ErrorHandler()).build();
+        when(bookingService.approveBooking(1L, true, 1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mockMvc.perform(patch("/bookings/1")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("approved", "true"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createBooking_shouldReturnConflictWhenOverlapConstraintViolated() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).setControllerAdvice(new ErrorHandler()).build();
+        when(bookingService.createBooking(any(NewBookingRequest.class), eq(2L)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint "
+                                + "\"bookings_item_period_excl\"", "23P01")));
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newBookingRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Item is already booked for the requested period"));
+    }
+
     @Test
     void getBookingById_shouldReturnBooking() throws Exception {
         when(bookingService.getBookingById(1L, 1L))
@@ -115,8 +200,8 @@ class BookingControllerTest {
 
     @Test
     void getBookingsByUser_shouldReturnBookings() throws Exception {
-        when(bookingService.getBookingsByUser(BookingState.ALL, 1L))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getBookingsByUser(BookingState.ALL, 1L, 0, Integer.MAX_VALUE, null))
+                .thenReturn(new BookingPage(List.of(bookingDto), null));
 
         mockMvc.perform(get("/bookings")
                         .header(USER_ID_HEADER, 1L)
@@ -128,8 +213,8 @@ class BookingControllerTest {
 
     @Test
     void getBookingsByOwner_shouldReturnBookings() throws Exception {
-        when(bookingService.getBookingsByOwner(BookingState.CURRENT, 1L))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getBookingsByOwner(BookingState.CURRENT, 1L, 0, Integer.MAX_VALUE, null))
+                .thenReturn(new BookingPage(List.of(bookingDto), null));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(USER_ID_HEADER, 1L)
@@ -140,8 +225,8 @@ class BookingControllerTest {
 
     @Test
     void getBookingsByUser_shouldReturnEmptyList() throws Exception {
-        when(bookingService.getBookingsByUser(BookingState.ALL, 1L))
-                .thenReturn(List.of());
+        when(bookingService.getBookingsByUser(BookingState.ALL, 1L, 0, Integer.MAX_VALUE, null))
+                .thenReturn(new BookingPage(List.of(), null));
 
         mockMvc.perform(get("/bookings")
                         .header(USER_ID_HEADER, 1L)
@@ -149,4 +234,36 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    @Test
+    void getSummaryByOwner_shouldReturnCountsPerState() throws Exception {
+        Map<BookingState, Long> counts = new EnumMap<>(BookingState.class);
+        counts.put(BookingState.ALL, 3L);
+        counts.put(BookingState.WAITING, 1L);
+        when(bookingService.getSummaryByOwner(1L)).thenReturn(new BookingSummaryDto(counts));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.ALL").value(3))
+                .andExpect(jsonPath("$.counts.WAITING").value(1));
+    }
+
+    @Test
+    void getBookingsByOwner_shouldStreamNdjson() throws Exception {
+        when(bookingService.streamBookingsByOwner(BookingState.ALL, 1L))
+                .thenReturn(consumer -> consumer.accept(bookingDto));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("state", "ALL")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(bookingDto) + "\n"));
+    }
 }
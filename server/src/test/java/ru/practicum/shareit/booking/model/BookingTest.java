@@ -64,24 +64,6 @@ class BookingTest {
         assertEquals(BookingStatus.APPROVED, booking.getStatus());
     }
 
-    @Test
-    void testApprove() {
-        Booking booking = new Booking();
-        booking.setStatus(BookingStatus.WAITING);
-
-        booking.approve();
-        assertEquals(BookingStatus.APPROVED, booking.getStatus());
-    }
-
-    @Test
-    void testReject() {
-        Booking booking = new Booking();
-        booking.setStatus(BookingStatus.WAITING);
-
-        booking.reject();
-        assertEquals(BookingStatus.REJECTED, booking.getStatus());
-    }
-
     @Test
     void testEqualsAndHashCode() {
         Booking booking1 = new Booking();
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Не входит в обычную сборку: mvn -pl server -Pbenchmark test -Dbenchmark.bookers=32 -Dbenchmark.seconds=10
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingCreationBenchmark {
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<User> users = new ArrayList<>();
+    private Item item;
+
+    @AfterEach
+    void tearDown() {
+        if (item != null) {
+            bookingRepository.deleteAll(findBookingsOfItem());
+            itemRepository.delete(item);
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void createBooking_throughputOfConcurrentBookersOnOneItem() throws Exception {
+        int bookerCount = Integer.getInteger("benchmark.bookers", 32);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 10));
+        User owner = userRepository.save(new User("Owner", "owner@benchmark.com"));
+        users.add(owner);
+        item = itemRepository.save(new Item("Drill", "Powerful drill", true, owner));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < bookerCount; i++) {
+            bookers.add(userRepository.save(new User("Booker " + i, "booker" + i + "@benchmark.com")));
+        }
+        users.addAll(bookers);
+
+        LocalDateTime horizon = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(bookerCount);
+        CountDownLatch ready = new CountDownLatch(1);
+        long deadline = System.nanoTime() + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User booker : bookers) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        LocalDateTime start = horizon.plusHours(random.nextInt(24 * 365));
+                        try {
+                            bookingService.createBooking(new NewBookingRequest(
+                                    item.getId(), start, start.plusHours(1 + random.nextInt(48))), booker.getId());
+                            accepted.incrementAndGet();
+                        } catch (ValidationException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int requests = accepted.get() + conflicts.get();
+        System.out.printf("%nBookers: %d, seconds: %d, requests: %d (%.1f/s), accepted: %d, conflicts: %d%n",
+                bookerCount, duration.toSeconds(), requests, requests / (double) duration.toSeconds(),
+                accepted.get(), conflicts.get());
+
+        List<Booking> bookings = findBookingsOfItem();
+        assertThat(bookings).hasSize(accepted.get());
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+    }
+
+    private List<Booking> findBookingsOfItem() {
+        return entityManager.createQuery(
+                        "select b from Booking b where b.item.id = :itemId order by b.start", Booking.class)
+                .setParameter("itemId", item.getId())
+                .getResultList();
+    }
+}
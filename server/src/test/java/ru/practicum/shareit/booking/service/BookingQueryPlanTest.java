@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.service.BookingQueryPlanTest$SqlRecorder")
+@ActiveProfiles("test")
+@Transactional
+class BookingQueryPlanTest {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("Owner", "owner@test.com"));
+        booker = userRepository.save(new User("Booker", "booker@test.com"));
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < 3; i++) {
+            Item item = itemRepository.save(new Item("Item " + i, "Description " + i, true, owner));
+            User itemBooker = i == 0 ? booker : userRepository.save(new User("Booker " + i, "booker" + i + "@test.com"));
+            for (int j = 0; j < 3; j++) {
+                bookingRepository.save(new Booking(item, itemBooker, start.plusDays(j * 2L),
+                        start.plusDays(j * 2L + 1), BookingStatus.WAITING));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void bookingLists_shouldReadEachPageInOneStatement() {
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                entityManager.clear();
+                STATEMENTS.clear();
+                List<BookingDto> bookings = role == BookingRole.OWNER
+                        ? bookingService.getBookingsByOwner(state, owner.getId(), 0, 10, null).bookings()
+                        : bookingService.getBookingsByUser(state, booker.getId(), 0, 10, null).bookings();
+
+                assertThat(bookings).allSatisfy(booking -> assertThat(booking.item().name()).isNotNull());
+                assertThat(STATEMENTS)
+                        .as("statements for %s bookings of %s", state, role)
+                        .hasSize(2)
+                        .filteredOn(statement -> statement.contains("bookings"))
+                        .hasSize(1);
+            }
+        }
+
+        entityManager.clear();
+        STATEMENTS.clear();
+        List<BookingDto> streamed = new ArrayList<>();
+        bookingService.streamBookingsByOwner(BookingState.ALL, owner.getId()).forEach(streamed::add);
+
+        assertThat(streamed).hasSize(9);
+        assertThat(STATEMENTS).hasSize(2);
+    }
+
+    @Test
+    void bookingLists_shouldUseIndexesForEveryStateAndRole() {
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                BookingPage page = fetch(state, role, null);
+                assertUsesIndexes(state, role);
+                if (page.nextCursor() != null) {
+                    fetch(state, role, page.nextCursor());
+                    assertUsesIndexes(state, role);
+                }
+            }
+        }
+    }
+
+    private BookingPage fetch(BookingState state, BookingRole role, String cursor) {
+        STATEMENTS.clear();
+        return role == BookingRole.OWNER
+                ? bookingService.getBookingsByOwner(state, owner.getId(), 0, 1, cursor)
+                : bookingService.getBookingsByUser(state, booker.getId(), 0, 1, cursor);
+    }
+
+    private void assertUsesIndexes(BookingState state, BookingRole role) {
+        String sql = STATEMENTS.stream()
+                .filter(statement -> statement.contains("bookings"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertThat(plan)
+                .as("plan of %s bookings for %s", state, role)
+                .doesNotContain("BOOKINGS.tableScan")
+                .doesNotContain("ITEMS.tableScan");
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
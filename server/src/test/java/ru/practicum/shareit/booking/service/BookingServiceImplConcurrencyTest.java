@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingServiceImplConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private Item item;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(new User("Owner", "owner@test.com"));
+        item = itemRepository.save(new Item("Drill", "Powerful drill", true, owner));
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User("Booker " + i, "booker" + i + "@test.com")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createBooking_shouldAcceptOnlyOneOfConcurrentOverlappingRequests() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(booker -> {
+            try {
+                bookingService.createBooking(
+                        new NewBookingRequest(item.getId(), start, start.plusDays(2)), booker.getId());
+            } catch (ValidationException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertThat(bookingRepository.findAll()).hasSize(1);
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+    }
+
+    @Test
+    void createBooking_shouldNeverStoreOverlappingPeriods() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        runConcurrently(booker -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20; i++) {
+                LocalDateTime from = start.plusHours(random.nextInt(200));
+                try {
+                    bookingService.createBooking(new NewBookingRequest(
+                            item.getId(), from, from.plusHours(1 + random.nextInt(12))), booker.getId());
+                } catch (ValidationException ignored) {
+                    // период уже занят
+                }
+            }
+        });
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        assertThat(bookings).isNotEmpty();
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+    }
+
+    @Test
+    void approveBooking_shouldLetExactlyOneConcurrentDecisionWin() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(1 + round * 3L).withNano(0);
+            BookingDto booking = bookingService.createBooking(
+                    new NewBookingRequest(item.getId(), start, start.plusDays(2)), bookers.getFirst().getId());
+            AtomicInteger decisions = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            List<String> winners = new CopyOnWriteArrayList<>();
+
+            runConcurrently(booker -> {
+                boolean approved = bookers.indexOf(booker) % 2 == 0;
+                try {
+                    winners.add(bookingService.approveBooking(booking.id(), approved, owner.getId()).status());
+                    decisions.incrementAndGet();
+                } catch (ValidationException e) {
+                    conflicts.incrementAndGet();
+                }
+            });
+
+            assertThat(decisions.get()).isEqualTo(1);
+            assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+            Booking stored = bookingRepository.findById(booking.id()).orElseThrow();
+            assertThat(stored.getStatus().name()).isEqualTo(winners.getFirst());
+            assertThat(stored.getVersion()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void decideBookings_shouldLetExactlyOneOfConcurrentBulkAndSingleDecisionsWin() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(1 + round * 3L).withNano(0);
+            BookingDto booking = bookingService.createBooking(
+                    new NewBookingRequest(item.getId(), start, start.plusDays(2)), bookers.getFirst().getId());
+            AtomicInteger decisions = new AtomicInteger();
+
+            runConcurrently(booker -> {
+                int index = bookers.indexOf(booker);
+                if (index % 2 == 0) {
+                    BookingDecisionResult result = bookingService.decideBookings(
+                            List.of(new BookingDecision(booking.id(), index % 4 == 0)), owner.getId()).getFirst();
+                    if (result.status() == 200) {
+                        decisions.incrementAndGet();
+                    }
+                } else {
+                    try {
+                        bookingService.approveBooking(booking.id(), true, owner.getId());
+                        decisions.incrementAndGet();
+                    } catch (ValidationException ignored) {
+                        // решение уже принято другим потоком
+                    }
+                }
+            });
+
+            assertThat(decisions.get()).isEqualTo(1);
+            assertThat(bookingRepository.findById(booking.id()).orElseThrow().getVersion()).isEqualTo(1L);
+        }
+    }
+
+    private void runConcurrently(Consumer<User> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User booker : bookers) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    task.accept(booker);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -7,7 +7,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -22,6 +27,8 @@ import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -65,7 +72,7 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void createBooking_shouldCreateBooking() {
-        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime start = LocalDateTime.now().plusDays(5);
         LocalDateTime end = start.plusDays(2);
 
         NewBookingRequest request = new NewBookingRequest(item.getId(), start, end);
@@ -118,6 +125,114 @@ class BookingServiceImplIntegrationTest {
                 .hasMessage("Start date must be before end date");
     }
 
+    @Test
+    void createBooking_shouldThrowWhenPeriodOverlapsActiveBooking() {
+        NewBookingRequest request = new NewBookingRequest(
+                item.getId(), booking.getStart().plusHours(12), booking.getEnd().plusDays(1));
+
+        assertThatThrownBy(() -> bookingService.createBooking(request, booker.getId()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Item is already booked for the requested period");
+    }
+
+    @Test
+    void createBooking_shouldAllowAdjacentPeriodsAndRejectedOverlaps() {
+        bookingService.approveBooking(booking.getId(), false, owner.getId());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        BookingDto overlapping = bookingService.createBooking(
+                new NewBookingRequest(item.getId(), booking.getStart(), booking.getEnd()), booker.getId());
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+        BookingDto adjacent = bookingService.createBooking(
+                new NewBookingRequest(item.getId(), start.plusDays(1), start.plusDays(2)), booker.getId());
+
+        assertThat(overlapping.id()).isNotNull();
+        assertThat(adjacent.id()).isNotNull();
+    }
+
+    @Test
+    void createBookings_shouldReportOutcomeOfEveryEntry() {
+        Item ownItem = itemRepository.save(new Item("Saw", "Hand saw", true, booker));
+        Item unavailable = itemRepository.save(new Item("Ladder", "Broken ladder", false, owner));
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+
+        List<BookingBatchResult> results = bookingService.createBookings(List.of(
+                new NewBookingRequest(item.getId(), start, start.plusDays(1)),
+                new NewBookingRequest(item.getId(), start.plusHours(12), start.plusDays(2)),
+                new NewBookingRequest(item.getId(), start.plusDays(1), start.plusDays(2)),
+                new NewBookingRequest(item.getId(), booking.getStart(), booking.getEnd()),
+                new NewBookingRequest(999L, start, start.plusDays(1)),
+                new NewBookingRequest(ownItem.getId(), start, start.plusDays(1)),
+                new NewBookingRequest(unavailable.getId(), start, start.plusDays(1))
+        ), booker.getId());
+
+        assertThat(results).extracting(BookingBatchResult::index).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(BookingBatchResult::status)
+                .containsExactly(200, 409, 200, 409, 404, 409, 400);
+        assertThat(results.get(1).error()).isEqualTo("Item is already booked for the requested period");
+        assertThat(results.get(1).booking()).isNull();
+
+        for (BookingBatchResult result : List.of(results.get(0), results.get(2))) {
+            BookingDto created = result.booking();
+            assertThat(created.item().id()).isEqualTo(item.getId());
+            assertThat(created.booker().id()).isEqualTo(booker.getId());
+            assertThat(created.status()).isEqualTo("WAITING");
+            assertThat(bookingService.getBookingById(created.id(), booker.getId())).isEqualTo(created);
+        }
+    }
+
+    @Test
+    void createBookings_shouldThrowWhenBookerNotFound() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+
+        assertThatThrownBy(() -> bookingService.createBookings(
+                List.of(new NewBookingRequest(item.getId(), start, start.plusDays(1))), 999L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void decideBookings_shouldApplyOwnedWaitingDecisionsWithOneUpdate() {
+        User anotherOwner = userRepository.save(new User("Another", "another@test.com"));
+        Item foreignItem = itemRepository.save(new Item("Saw", "Hand saw", true, anotherOwner));
+        Booking second = bookingRepository.save(new Booking(item, booker,
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6), BookingStatus.WAITING));
+        Booking decided = bookingRepository.save(new Booking(item, booker,
+                LocalDateTime.now().plusDays(7), LocalDateTime.now().plusDays(8), BookingStatus.APPROVED));
+        Booking foreign = bookingRepository.save(new Booking(foreignItem, booker,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), BookingStatus.WAITING));
+
+        List<BookingDecisionResult> results = bookingService.decideBookings(List.of(
+                new BookingDecision(booking.getId(), true),
+                new BookingDecision(second.getId(), false),
+                new BookingDecision(decided.getId(), false),
+                new BookingDecision(foreign.getId(), true),
+                new BookingDecision(999L, true),
+                new BookingDecision(booking.getId(), false)
+        ), owner.getId());
+
+        assertThat(results).extracting(BookingDecisionResult::status).containsExactly(200, 200, 409, 403, 404, 409);
+        assertThat(results).extracting(BookingDecisionResult::bookingStatus)
+                .containsExactly("APPROVED", "REJECTED", null, null, null, null);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findById(decided.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(foreign.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void decideBookings_shouldUseSingleStatusWhenAllDecisionsAgree() {
+        Booking second = bookingRepository.save(new Booking(item, booker,
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6), BookingStatus.WAITING));
+
+        bookingService.decideBookings(List.of(new BookingDecision(booking.getId(), false),
+                new BookingDecision(second.getId(), false)), owner.getId());
+
+        assertThat(bookingRepository.findAllById(List.of(booking.getId(), second.getId())))
+                .extracting(Booking::getStatus)
+                .containsOnly(BookingStatus.REJECTED);
+    }
+
     @Test
     void approveBooking_shouldApproveBooking() {
         BookingDto result = bookingService.approveBooking(booking.getId(), true, owner.getId());
@@ -149,8 +264,7 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void approveBooking_shouldThrowWhenStatusNotWaiting() {
-        booking.approve();
-        bookingRepository.save(booking);
+        bookingRepository.decideIfWaiting(booking.getId(), BookingStatus.APPROVED);
 
         assertThatThrownBy(() -> bookingService.approveBooking(booking.getId(), true, owner.getId()))
                 .isInstanceOf(ValidationException.class)
@@ -199,12 +313,12 @@ class BookingServiceImplIntegrationTest {
                 BookingStatus.APPROVED
         ));
 
-        assertThat(bookingService.getBookingsByUser(BookingState.ALL, booker.getId())).hasSize(3);
-        assertThat(bookingService.getBookingsByUser(BookingState.CURRENT, booker.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByUser(BookingState.PAST, booker.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByUser(BookingState.FUTURE, booker.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByUser(BookingState.WAITING, booker.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByUser(BookingState.REJECTED, booker.getId())).isEmpty();
+        assertThat(bookingService.getBookingsByUser(BookingState.ALL, booker.getId(), 0, 10, null).bookings()).hasSize(3);
+        assertThat(bookingService.getBookingsByUser(BookingState.CURRENT, booker.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByUser(BookingState.PAST, booker.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByUser(BookingState.FUTURE, booker.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByUser(BookingState.WAITING, booker.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByUser(BookingState.REJECTED, booker.getId(), 0, 10, null).bookings()).isEmpty();
     }
 
     @Test
@@ -225,10 +339,120 @@ class BookingServiceImplIntegrationTest {
                 BookingStatus.APPROVED
         ));
 
-        assertThat(bookingService.getBookingsByOwner(BookingState.ALL, owner.getId())).hasSize(3);
-        assertThat(bookingService.getBookingsByOwner(BookingState.CURRENT, owner.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByOwner(BookingState.PAST, owner.getId())).hasSize(1);
-        assertThat(bookingService.getBookingsByOwner(BookingState.FUTURE, owner.getId())).hasSize(1);
+        assertThat(bookingService.getBookingsByOwner(BookingState.ALL, owner.getId(), 0, 10, null).bookings()).hasSize(3);
+        assertThat(bookingService.getBookingsByOwner(BookingState.CURRENT, owner.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByOwner(BookingState.PAST, owner.getId(), 0, 10, null).bookings()).hasSize(1);
+        assertThat(bookingService.getBookingsByOwner(BookingState.FUTURE, owner.getId(), 0, 10, null).bookings()).hasSize(1);
+    }
+
+    @Test
+    void getBookingsByUser_shouldWalkAllPagesByCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        for (int i = 0; i < 6; i++) {
+            bookingRepository.save(new Booking(item, booker, start.plusDays(i / 2), start.plusDays(i / 2 + 1),
+                    BookingStatus.WAITING));
+        }
+        BookingPage unpaged = bookingService.getBookingsByUser(BookingState.ALL, booker.getId(), 0, Integer.MAX_VALUE, null);
+        List<BookingDto> all = unpaged.bookings();
+
+        List<BookingDto> walked = new ArrayList<>();
+        BookingPage page = bookingService.getBookingsByUser(BookingState.ALL, booker.getId(), 0, 2, null);
+        walked.addAll(page.bookings());
+        while (page.nextCursor() != null) {
+            page = bookingService.getBookingsByUser(BookingState.ALL, booker.getId(), 0, 2, page.nextCursor());
+            assertThat(page.bookings()).hasSizeLessThanOrEqualTo(2);
+            walked.addAll(page.bookings());
+        }
+
+        assertThat(all).hasSize(7);
+        assertThat(unpaged.nextCursor()).isNull();
+        assertThat(walked).isEqualTo(all);
+        assertThat(bookingService.getBookingsByUser(BookingState.ALL, booker.getId(), 3, 2, null).bookings())
+                .isEqualTo(all.subList(3, 5));
+    }
+
+    @Test
+    void getBookingsByOwner_shouldRejectInvalidPageParameters() {
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(BookingState.ALL, owner.getId(), 0, 2, "garbage"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(BookingState.ALL, owner.getId(), -1, 2, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void streamBookings_shouldStreamSameBookingsAsListsForAllStates() {
+        bookingRepository.save(new Booking(
+                item, booker,
+                LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(3),
+                BookingStatus.APPROVED
+        ));
+        bookingRepository.save(new Booking(
+                item, booker,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1),
+                BookingStatus.REJECTED
+        ));
+
+        for (BookingState state : BookingState.values()) {
+            List<BookingDto> byUser = new ArrayList<>();
+            bookingService.streamBookingsByUser(state, booker.getId()).forEach(byUser::add);
+            List<BookingDto> byOwner = new ArrayList<>();
+            bookingService.streamBookingsByOwner(state, owner.getId()).forEach(byOwner::add);
+
+            assertThat(byUser).isEqualTo(bookingService.getBookingsByUser(state, booker.getId(), 0, 10, null).bookings());
+            assertThat(byOwner).isEqualTo(bookingService.getBookingsByOwner(state, owner.getId(), 0, 10, null).bookings());
+        }
+    }
+
+    @Test
+    void getSummary_shouldMatchListSizesAfterCreatingAndDecidingBookings() {
+        User otherOwner = userRepository.save(new User("Other owner", "other.owner@test.com"));
+        User otherBooker = userRepository.save(new User("Other booker", "other.booker@test.com"));
+        Item saw = itemRepository.save(new Item("Saw", "Hand saw", true, otherOwner));
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto past = bookingService.createBooking(
+                new NewBookingRequest(saw.getId(), now.minusDays(5), now.minusDays(3)), otherBooker.getId());
+        BookingDto current = bookingService.createBooking(
+                new NewBookingRequest(saw.getId(), now.minusDays(1), now.plusDays(1)), otherBooker.getId());
+        List<BookingBatchResult> future = bookingService.createBookings(List.of(
+                new NewBookingRequest(saw.getId(), now.plusDays(2), now.plusDays(3)),
+                new NewBookingRequest(saw.getId(), now.plusDays(4), now.plusDays(5)),
+                new NewBookingRequest(saw.getId(), now.plusDays(6), now.plusDays(7))), otherBooker.getId());
+        bookingService.approveBooking(past.id(), true, otherOwner.getId());
+        bookingService.approveBooking(current.id(), false, otherOwner.getId());
+        bookingService.decideBookings(List.of(
+                new BookingDecision(future.get(0).booking().id(), true),
+                new BookingDecision(future.get(1).booking().id(), false)), otherOwner.getId());
+
+        BookingSummaryDto byUser = bookingService.getSummaryByUser(otherBooker.getId());
+        BookingSummaryDto byOwner = bookingService.getSummaryByOwner(otherOwner.getId());
+
+        assertThat(byUser.counts().get(BookingState.ALL)).isEqualTo(5L);
+        assertThat(byUser.counts().get(BookingState.WAITING)).isEqualTo(1L);
+        assertThat(byUser.counts().get(BookingState.REJECTED)).isEqualTo(2L);
+        for (BookingState state : BookingState.values()) {
+            long booked = bookingService.getBookingsByUser(state, otherBooker.getId(), 0, 10, null).bookings().size();
+            long owned = bookingService.getBookingsByOwner(state, otherOwner.getId(), 0, 10, null).bookings().size();
+            assertThat(byUser.counts().get(state)).as("%s bookings of the booker", state).isEqualTo(booked);
+            assertThat(byOwner.counts().get(state)).as("%s bookings of the owner", state).isEqualTo(owned);
+        }
+    }
+
+    @Test
+    void getSummary_shouldThrowWhenUserNotFound() {
+        assertThatThrownBy(() -> bookingService.getSummaryByUser(999L))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> bookingService.getSummaryByOwner(999L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void streamBookings_shouldThrowWhenUserNotFound() {
+        assertThatThrownBy(() -> bookingService.streamBookingsByUser(BookingState.ALL, 999L))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> bookingService.streamBookingsByOwner(BookingState.ALL, 999L))
+                .isInstanceOf(NotFoundException.class);
     }
 
     @Test
@@ -249,13 +473,13 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void getBookingsByUser_shouldThrowWhenUserNotFound() {
-        assertThatThrownBy(() -> bookingService.getBookingsByUser(BookingState.ALL, 999L))
+        assertThatThrownBy(() -> bookingService.getBookingsByUser(BookingState.ALL, 999L, 0, 10, null))
                 .isInstanceOf(NotFoundException.class);
     }
 
     @Test
     void getBookingsByOwner_shouldThrowWhenUserNotFound() {
-        assertThatThrownBy(() -> bookingService.getBookingsByOwner(BookingState.ALL, 999L))
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(BookingState.ALL, 999L, 0, 10, null))
                 .isInstanceOf(NotFoundException.class);
     }
 }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingCounterChangesTest {
+
+    @Test
+    void toList_shouldSumChangesPerUserInIdOrder() {
+        BookingCounterChanges changes = new BookingCounterChanges();
+        changes.created(7L, 3L, BookingStatus.WAITING);
+        changes.created(7L, 3L, BookingStatus.WAITING);
+        changes.decided(7L, 3L, BookingStatus.WAITING, BookingStatus.REJECTED);
+        changes.decided(7L, 3L, BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertThat(changes.toList()).containsExactly(
+                new BookingCounters(3L, 0, 0, 0, 2, 0, 1),
+                new BookingCounters(7L, 2, 0, 1, 0, 0, 0));
+    }
+
+    @Test
+    void toList_shouldKeepBookerAndOwnerCountersOfSameUserApart() {
+        BookingCounterChanges changes = new BookingCounterChanges();
+        changes.created(5L, 2L, BookingStatus.WAITING);
+        changes.created(2L, 5L, BookingStatus.WAITING);
+        changes.decided(5L, 2L, BookingStatus.WAITING, BookingStatus.REJECTED);
+
+        List<BookingCounters> counters = changes.toList();
+
+        assertThat(counters).containsExactly(
+                new BookingCounters(2L, 1, 1, 0, 1, 0, 1),
+                new BookingCounters(5L, 1, 0, 1, 1, 1, 0));
+    }
+
+    @Test
+    void toList_shouldBeEmptyWithoutChanges() {
+        assertThat(new BookingCounterChanges().toList()).isEmpty();
+    }
+}
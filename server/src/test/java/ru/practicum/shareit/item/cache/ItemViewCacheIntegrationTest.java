@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.NewCommentRequest;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item.cache.enabled=true")
+@ActiveProfiles("test")
+class ItemViewCacheIntegrationTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemViewCache itemViewCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        owner = userRepository.save(new User("Owner", "owner@cache.com"));
+        booker = userRepository.save(new User("Booker", "booker@cache.com"));
+        item = itemRepository.save(new Item("Drill", "Powerful drill", true, owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemViewCache.clear();
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItemById_shouldServeRepeatedReadsFromCache() {
+        double hits = meterRegistry.get("cache.gets").tag("cache", ItemViewCache.NAME).tag("result", "hit")
+                .functionCounter().count();
+
+        itemService.getItemById(item.getId(), booker.getId());
+        itemService.getItemById(item.getId(), booker.getId());
+
+        assertThat(itemViewCache.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ItemViewCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void updateItem_shouldInvalidateCachedView() {
+        itemService.getItemById(item.getId(), booker.getId());
+
+        itemService.updateItem(item.getId(), new UpdateItemRequest("Cordless drill", null, null), owner.getId());
+
+        assertThat(itemService.getItemById(item.getId(), booker.getId()).name()).isEqualTo("Cordless drill");
+    }
+
+    @Test
+    void addComment_shouldInvalidateCachedView() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED));
+        itemService.getItemById(item.getId(), booker.getId());
+
+        itemService.addComment(item.getId(), booker.getId(), new NewCommentRequest("Good drill"));
+
+        assertThat(itemService.getItemById(item.getId(), booker.getId()).comments())
+                .extracting(CommentDto::text).containsExactly("Good drill");
+    }
+
+    @Test
+    void getItemById_shouldAddCurrentBookingDatesToCachedViewForOwner() {
+        itemService.getItemById(item.getId(), owner.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        assertThat(itemService.getItemById(item.getId(), owner.getId()).nextBooking()).isEqualTo(start);
+        assertThat(itemService.getItemById(item.getId(), booker.getId()).nextBooking()).isNull();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemWithCommentDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemViewCacheTest {
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private MeterRegistry meterRegistry;
+    private ItemViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemViewCache(new ItemViewCacheProperties(true, 2, Duration.ofMinutes(10)),
+                meterRegistry, ticker::get, Runnable::run);
+    }
+
+    @Test
+    void get_shouldLoadOnceAndCountHitsAndMisses() {
+        cache.get(1L, () -> view(1L));
+        ItemView cached = cache.get(1L, () -> view(1L));
+
+        assertThat(cached.item().id()).isEqualTo(1L);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ItemViewCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ItemViewCache.NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldReloadExpiredEntries() {
+        cache.get(1L, () -> view(1L));
+        ticker.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        cache.get(1L, () -> view(1L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", ItemViewCache.NAME).functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldEvictEntriesWhenFull() {
+        cache.get(1L, () -> view(1L));
+        cache.get(2L, () -> view(2L));
+        cache.get(3L, () -> view(3L));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", ItemViewCache.NAME).functionCounter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", ItemViewCache.NAME).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_shouldDropEntry() {
+        cache.get(1L, () -> view(1L));
+
+        cache.invalidate(1L);
+        cache.get(1L, () -> view(1L));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldNotKeepViewLoadedWhileItemWasInvalidated() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ItemView> load = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                await(release);
+                return view(1L);
+            }));
+            loading.await();
+            Future<?> invalidation = executor.submit(() -> cache.invalidate(1L));
+            release.countDown();
+
+            load.get(10, TimeUnit.SECONDS);
+            invalidation.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_shouldAlwaysLoadWhenDisabled() {
+        ItemViewCache disabled = new ItemViewCache(new ItemViewCacheProperties(false, 2, Duration.ofMinutes(10)),
+                new SimpleMeterRegistry(), ticker::get, Runnable::run);
+
+        disabled.get(1L, () -> view(1L));
+        disabled.get(1L, () -> view(1L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(disabled.size()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ItemView view(long itemId) {
+        loads.incrementAndGet();
+        return new ItemView(10L, new ItemWithCommentDto(itemId, "Drill", "Powerful drill", true, null, null,
+                List.of(), 0));
+    }
+}
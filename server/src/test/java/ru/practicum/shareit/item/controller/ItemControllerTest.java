@@ -6,22 +6,34 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.search.SearchOperator;
+import ru.practicum.shareit.item.search.SearchSort;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.stream.NdjsonStreamer;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.constants.HeaderConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.constants.HeaderConstants.USER_ID_HEADER;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +43,10 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
+    @Spy
+    private NdjsonStreamer ndjsonStreamer =
+            new NdjsonStreamer(new ObjectMapper(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ItemController itemController;
 
@@ -84,7 +100,7 @@ class ItemControllerTest {
         when(itemService.getItemById(1L, 1L))
                 .thenReturn(new ItemWithCommentDto(
                         1L, "Drill", "Simple drill",
-                        true, null, null, List.of()
+                        true, null, null, List.of(), 0
                 ));
 
         mockMvc.perform(get("/items/1")
@@ -96,30 +112,188 @@ class ItemControllerTest {
 
     @Test
     void getPersonalItems_shouldReturnList() throws Exception {
-        when(itemService.getPersonalItems(1L))
-                .thenReturn(List.of(new ItemWithCommentDto(
+        when(itemService.getPersonalItems(1L, 0, Integer.MAX_VALUE, null))
+                .thenReturn(new ItemPage(List.of(new ItemWithCommentDto(
                         1L, "Drill", "Simple drill",
-                        true, null, null, List.of()
-                )));
+                        true, null, null, List.of(), 0
+                )), null));
 
         mockMvc.perform(get("/items")
                         .header(USER_ID_HEADER, "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].name").value("Drill"));
     }
 
+    @Test
+    void getPersonalItems_shouldPassCursorAndReturnNextOne() throws Exception {
+        when(itemService.getPersonalItems(1L, 0, 1, "MQ"))
+                .thenReturn(new ItemPage(List.of(new ItemWithCommentDto(
+                        2L, "Saw", "Hand saw",
+                        true, null, null, List.of(), 0
+                )), "Mg"));
+
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, "1")
+                        .param("size", "1")
+                        .param("cursor", "MQ"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "Mg"))
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
     @Test
     void searchItems_shouldReturnFoundItems() throws Exception {
-        when(itemService.searchItems("drill"))
-                .thenReturn(List.of(itemDto));
+        when(itemService.searchItems(query("drill", 0, Integer.MAX_VALUE, null, false)))
+                .thenReturn(new ItemSearchPage(List.of(itemDto), null));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void searchItems_shouldReturnNextCursorHeader() throws Exception {
+        when(itemService.searchItems(query("drill", 0, 1, "MTow", false)))
+                .thenReturn(new ItemSearchPage(List.of(itemDto), "MTow"));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("size", "1")
+                        .param("cursor", "MTow"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "MTow"))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void getComments_shouldReturnPageWithNextCursorHeader() throws Exception {
+        CommentDto comment = new CommentDto(1L, "Good drill", "Booker", LocalDateTime.of(2025, 6, 1, 12, 0));
+        when(itemService.getComments(1L, 1, "MTow"))
+                .thenReturn(new CommentPage(List.of(comment), "Mjoy"));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("size", "1")
+                        .param("cursor", "MTow"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "Mjoy"))
+                .andExpect(jsonPath("$[0].text").value("Good drill"));
+    }
+
+    @Test
+    void searchItems_shouldPassFuzzyFlag() throws Exception {
+        when(itemService.searchItems(query("dirll", 0, Integer.MAX_VALUE, null, true)))
+                .thenReturn(new ItemSearchPage(List.of(itemDto), null));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "dirll")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void searchItems_shouldPassOperatorAndSort() throws Exception {
+        when(itemService.searchItems(
+                new ItemSearchQuery("cordless drill", 0, Integer.MAX_VALUE, null, false, SearchOperator.OR, SearchSort.RELEVANCE)))
+                .thenReturn(new ItemSearchPage(List.of(itemDto), null));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "cordless drill")
+                        .param("operator", "OR")
+                        .param("sort", "RELEVANCE"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
 
+    @Test
+    void getAvailability_shouldReturnFreeAndBusyIntervals() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(3);
+        when(itemService.getAvailability(1L, from, to))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to,
+                        List.of(new TimeIntervalDto(from, from.plusDays(1))),
+                        List.of(new TimeIntervalDto(from.plusDays(1), to))));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-04T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.free.length()").value(1))
+                .andExpect(jsonPath("$.busy.length()").value(1));
+    }
+
+    @Test
+    void searchFacets_shouldReturnItemsWithFacetCounts() throws Exception {
+        when(itemService.searchFacets(new ItemFacetQuery("drill", 2L, null, false, 0, 10), 2L))
+                .thenReturn(new ItemFacetPage(List.of(itemDto), 1,
+                        new ItemFacetCounts(Map.of(2L, 1), Map.of(), Map.of(false, 1))));
+
+        mockMvc.perform(get("/items/search/facets")
+                        .header(USER_ID_HEADER, "2")
+                        .param("text", "drill")
+                        .param("ownerId", "2")
+                        .param("available", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.facets.owners.2").value(1))
+                .andExpect(jsonPath("$.facets.availability.false").value(1));
+    }
+
+    @Test
+    void searchItems_shouldStreamNdjson() throws Exception {
+        ItemDto secondDto = new ItemDto(2L, "Drill 2", "Second drill", true);
+        when(itemService.streamSearchItems("drill"))
+                .thenReturn(consumer -> List.of(itemDto, secondDto).forEach(consumer));
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(itemDto) + "\n"
+                        + objectMapper.writeValueAsString(secondDto) + "\n"));
+    }
+
+    @Test
+    void getPersonalItems_shouldStreamNdjson() throws Exception {
+        ItemWithCommentDto item = new ItemWithCommentDto(1L, "Drill", "Simple drill", true, null, null, List.of(), 0);
+        when(itemService.streamPersonalItems(1L))
+                .thenReturn(consumer -> consumer.accept(item));
+
+        MvcResult result = mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, "1")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(item) + "\n"));
+    }
+
+    @Test
+    void suggestItemNames_shouldReturnNames() throws Exception {
+        when(itemService.suggestItemNames("dr", 5))
+                .thenReturn(List.of("Drill", "Drill press"));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "dr")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Drill"))
+                .andExpect(jsonPath("$[1]").value("Drill press"));
+    }
+
     @Test
     void addComment_shouldReturnCreatedComment() throws Exception {
         NewCommentRequest newCommentRequest = new NewCommentRequest("Good drill");
@@ -137,4 +311,8 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.text").value("Good drill"))
                 .andExpect(jsonPath("$.authorName").value("Alice"));
     }
+
+    private static ItemSearchQuery query(String text, int from, int size, String cursor, boolean fuzzy) {
+        return new ItemSearchQuery(text, from, size, cursor, fuzzy, SearchOperator.AND, SearchSort.DEFAULT);
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -15,7 +16,6 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -65,44 +65,67 @@ class ItemRepositoryIntegrationTest {
 
     @Test
     void searchByNameOrDescriptionAndAvailableIsTrue_shouldReturnOnlyAvailableItems() {
-        List<Item> result = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("drill");
+        List<Item> result = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("drill", 0, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getName()).isEqualTo("Drill");
 
-        List<Item> result2 = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("saw");
+        List<Item> result2 = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("saw", 0, 0, 10);
         assertThat(result2).hasSize(1);
         assertThat(result2.getFirst().getName()).isEqualTo("Saw");
 
-        List<Item> result3 = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("hammer");
+        List<Item> result3 = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("hammer", 0, 0, 10);
         assertThat(result3).isEmpty();
     }
 
     @Test
-    void findByIdWithComments_shouldFetchComments() {
-        Optional<Item> resultOpt = itemRepository.findByIdWithComments(item1.getId());
+    void searchByNameOrDescriptionAndAvailableIsTrue_shouldPageByKey() {
+        Item item4 = itemRepository.save(new Item("Small saw", "Saw for metal", true, owner));
 
-        assertThat(resultOpt).isPresent();
-        Item result = resultOpt.get();
+        List<Item> firstPage = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("saw", 0, 0, 1);
+        assertThat(firstPage).extracting(Item::getId).containsExactly(item3.getId());
 
-        assertThat(result.getComments()).hasSize(1);
-        assertThat(result.getComments().getFirst().getText()).isEqualTo("Good tool");
+        List<Item> nextPage = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue(
+                "saw", item3.getId(), 0, 1);
+        assertThat(nextPage).extracting(Item::getId).containsExactly(item4.getId());
+
+        List<Item> skipped = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue("saw", 0, 1, 10);
+        assertThat(skipped).extracting(Item::getId).containsExactly(item4.getId());
     }
 
     @Test
-    void findByOwnerIdWithComments_shouldReturnItemsWithComments() {
-        List<Item> result = itemRepository.findByOwnerIdWithComments(owner.getId());
+    void findIdsByOwnerId_shouldPageItemIdsInOrder() {
+        User other = userRepository.save(new User("Other", "other@test.com"));
+        itemRepository.save(new Item("Ladder", "Tall ladder", true, other));
+
+        assertThat(itemRepository.findIdsByOwnerId(owner.getId(), 0, 2)).containsExactly(item1.getId(), item2.getId());
+        assertThat(itemRepository.findIdsByOwnerId(owner.getId(), 2, 2)).containsExactly(item3.getId());
+        assertThat(itemRepository.findIdsByOwnerId(owner.getId(), 3, 2)).isEmpty();
+    }
 
-        assertThat(result).hasSize(3);
-        assertThat(result).extracting(Item::getId).contains(item1.getId(), item2.getId(), item3.getId());
+    @Test
+    void findLatestByItemIdIn_shouldReturnLatestCommentsOfEveryItem() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            saveComment(item2, "Comment " + i, now.plusMinutes(i));
+        }
+        saveComment(item3, "Only comment", now);
+
+        List<Comment> result = commentRepository.findLatestByItemIdIn(
+                List.of(item1.getId(), item2.getId(), item3.getId()), 2);
+
+        assertThat(result).extracting(Comment::getText)
+                .containsExactly("Good tool", "Comment 3", "Comment 2", "Only comment");
+    }
 
-        Item fetchedItem1 = result.stream()
-                .filter(i -> i.getId().equals(item1.getId()))
-                .findFirst()
-                .orElseThrow();
+    @Test
+    void incrementCommentCount_shouldCountCommentsInDatabase() {
+        itemRepository.incrementCommentCount(item1.getId());
+        itemRepository.incrementCommentCount(item1.getId());
+        entityManager.clear();
 
-        assertThat(fetchedItem1.getComments()).hasSize(1);
-        assertThat(fetchedItem1.getComments().getFirst().getText()).isEqualTo("Good tool");
+        assertThat(itemRepository.findById(item1.getId()).orElseThrow().getCommentCount()).isEqualTo(2);
+        assertThat(itemRepository.findById(item2.getId()).orElseThrow().getCommentCount()).isZero();
     }
 
     @Test
@@ -120,4 +143,24 @@ class ItemRepositoryIntegrationTest {
         assertThat(result).extracting(i -> i.getRequest().getId())
                 .containsExactlyInAnyOrder(req1.getId(), req2.getId());
     }
+
+    @Test
+    void findByAvailableTrueAndIdGreaterThan_shouldReturnAvailableItemsInIdOrder() {
+        List<Item> firstPage = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        assertThat(firstPage).extracting(Item::getId).containsExactly(item1.getId());
+
+        List<Item> nextPage = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(
+                item1.getId(), Limit.of(10));
+        assertThat(nextPage).extracting(Item::getId).containsExactly(item3.getId());
+    }
+
+    private void saveComment(Item item, String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthorName(owner.getName());
+        comment.setCreated(created);
+        comment.setItem(item);
+        comment.setAuthor(owner);
+        commentRepository.save(comment);
+    }
 }
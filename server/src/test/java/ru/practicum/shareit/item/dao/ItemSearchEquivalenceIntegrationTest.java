@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.item.search.ItemSearchSegment;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.search.SearchBackend;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ItemSearchEquivalenceIntegrationTest {
+    private static final String[] WORDS = {
+            "Drill", "hammer", "SAW", "ladder", "tent", "bike", "cordless", "power", "garden", "hose",
+            "Дрель", "молоток", "ПИЛА", "лестница", "палатка", "велосипед", "аккумуляторная", "садовый",
+            "snake_case", "100%", "C:\\tmp", "wood", "steel", "x"
+    };
+    private static final List<String> QUERIES = List.of(
+            "drill", "DRILL", "dr", "d", "ill", "power drill", "rdl", "пила", "аккум", "ЛЕСТ",
+            "_", "e_c", "%", "0%", "\\", ":\\t", "%\\", "x ", " ", "steel wood", "zzz", "ow");
+    private static final List<String> PREFIXES = List.of(
+            "d", "DR", "drill ", "h", "ham", "s", "sa", "x", "t", "tent b", "%", "s_", "c:\\", "д", "Дре", "пи", "zzz");
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+    private final ItemSuggestIndex suggestIndex = new ItemSuggestIndex(new ItemSearchProperties(
+            false, 1000, SearchBackend.LIKE, true, 10, DataSize.ofMegabytes(16), false,
+            false, Path.of("search-segments"), Duration.ofMinutes(1), false, 1, false));
+    private final List<String> randomQueries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User("Owner", "owner@test.com"));
+        Random random = new Random(42);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item(phrase(random, 1 + random.nextInt(3)), phrase(random, 2 + random.nextInt(6)),
+                    random.nextInt(5) != 0, owner));
+        }
+        for (Item item : itemRepository.saveAll(items)) {
+            searchIndex.put(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+            suggestIndex.put(item.getId(), item.getName(), item.getAvailable());
+            if (random.nextInt(50) == 0) {
+                int from = random.nextInt(item.getDescription().length() - 1);
+                randomQueries.add(item.getDescription().substring(from, Math.min(from + 1 + random.nextInt(8),
+                        item.getDescription().length())));
+            }
+        }
+    }
+
+    @Test
+    void searchIndex_shouldReturnSameItemsAsLikeQuery() {
+        for (String query : allQueries()) {
+            Set<Long> indexed = new TreeSet<>(searchIndex.search(query).stream().map(ItemDto::id).toList());
+            assertThat(indexed)
+                    .as("query '%s'", query)
+                    .isEqualTo(ids(itemRepository.searchByNameOrDescriptionAndAvailableIsTrue(query, 0, 0, Integer.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    void segmentBackedIndex_shouldReturnSameItemsAsLikeQueryAfterCatchUp(@TempDir Path directory) throws IOException {
+        LocalDateTime watermark = LocalDateTime.now();
+        ItemSearchSegment.Writer writer = new ItemSearchSegment.Writer(watermark);
+        searchIndex.forEach(writer::add);
+        ItemSearchIndex segmentIndex = new ItemSearchIndex();
+        segmentIndex.load(writer.write(directory.resolve("items.seg")));
+
+        Random random = new Random(11);
+        List<Item> items = itemRepository.findAll();
+        Set<Long> changed = new TreeSet<>();
+        for (int i = 0; i < 200; i++) {
+            Item item = items.get(random.nextInt(items.size()));
+            item.setDescription(phrase(random, 2 + random.nextInt(6)));
+            item.setAvailable(random.nextInt(3) != 0);
+            changed.add(itemRepository.saveAndFlush(item).getId());
+        }
+        changed.add(itemRepository.saveAndFlush(new Item("drill", "steel drill", true, items.getFirst().getOwner())).getId());
+
+        List<Item> modified = itemRepository.findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+                watermark, 0L, Limit.unlimited());
+        assertThat(ids(modified)).containsAll(changed);
+        modified.forEach(item -> segmentIndex.put(
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable()));
+
+        for (String query : allQueries()) {
+            List<Item> expected = itemRepository.searchByNameOrDescriptionAndAvailableIsTrue(
+                    query, 0, 0, Integer.MAX_VALUE);
+            assertThat(segmentIndex.search(query).stream().map(ItemDto::id).toList())
+                    .as("query '%s'", query)
+                    .isEqualTo(expected.stream().map(Item::getId).toList());
+            if (expected.size() > 3) {
+                assertThat(segmentIndex.search(query, expected.get(1).getId(), 1, 2).stream().map(ItemDto::id))
+                        .as("page of query '%s'", query)
+                        .containsExactlyElementsOf(expected.stream().skip(3).limit(2).map(Item::getId).toList());
+            }
+        }
+    }
+
+    @Test
+    void suggestIndex_shouldReturnSameNamesAsPrefixQuery() {
+        assertSameSuggestions();
+
+        Random random = new Random(7);
+        List<Item> items = itemRepository.findAll();
+        for (int i = 0; i < 300; i++) {
+            Item item = items.get(random.nextInt(items.size()));
+            item.setName(phrase(random, 1 + random.nextInt(2)));
+            item.setAvailable(random.nextInt(3) != 0);
+            itemRepository.saveAndFlush(item);
+            suggestIndex.put(item.getId(), item.getName(), item.getAvailable());
+        }
+
+        assertSameSuggestions();
+    }
+
+    private void assertSameSuggestions() {
+        for (String prefix : PREFIXES) {
+            for (int size : new int[]{1, 3, 10}) {
+                assertThat(suggestIndex.suggest(prefix, size))
+                        .as("prefix '%s', size %d", prefix, size)
+                        .isEqualTo(itemRepository.findAvailableNamesByPrefix(prefix, Limit.of(size)));
+            }
+        }
+    }
+
+    private List<String> allQueries() {
+        List<String> queries = new ArrayList<>(QUERIES);
+        queries.addAll(randomQueries);
+        return queries;
+    }
+
+    private static Set<Long> ids(List<Item> items) {
+        Set<Long> result = new TreeSet<>();
+        items.forEach(item -> result.add(item.getId()));
+        return result;
+    }
+
+    private static String phrase(Random random, int words) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < words; i++) {
+            joiner.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return joiner.toString();
+    }
+}
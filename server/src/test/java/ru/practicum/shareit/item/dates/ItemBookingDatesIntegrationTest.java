@@ -0,0 +1,149 @@
+package ru.practicum.shareit.item.dates;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemWithCommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item.booking-dates.enabled=true")
+@ActiveProfiles("test")
+@Transactional
+class ItemBookingDatesIntegrationTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemBookingDatesRefresher refresher;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("Owner", "owner@dates.com"));
+        booker = userRepository.save(new User("Booker", "booker@dates.com"));
+        item = itemRepository.save(new Item("Drill", "Powerful drill", true, owner));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void createBooking_shouldMaterializeDatesOfItem() {
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        assertThat(columns(item)).containsEntry("LAST_BOOKING", null)
+                .containsEntry("NEXT_BOOKING", start)
+                .containsEntry("BOOKING_DATES_STALE_AT", start);
+        assertThat(personalItem().nextBooking()).isEqualTo(start);
+    }
+
+    @Test
+    void createBookings_shouldMaterializeDatesOfEveryItem() {
+        Item saw = itemRepository.save(new Item("Saw", "Hand saw", true, owner));
+
+        bookingService.createBookings(List.of(
+                new NewBookingRequest(item.getId(), start.plusDays(3), start.plusDays(4)),
+                new NewBookingRequest(item.getId(), start, start.plusDays(1)),
+                new NewBookingRequest(saw.getId(), start.plusDays(5), start.plusDays(6))
+        ), booker.getId());
+
+        assertThat(columns(item)).containsEntry("NEXT_BOOKING", start);
+        assertThat(columns(saw)).containsEntry("NEXT_BOOKING", start.plusDays(5));
+    }
+
+    @Test
+    void getPersonalItems_shouldReadMaterializedDatesWhileTheyAreFresh() {
+        LocalDateTime marker = LocalDateTime.of(2000, 1, 1, 0, 0);
+        jdbcTemplate.update("update items set next_booking = ?, booking_dates_stale_at = null where item_id = ?",
+                marker, item.getId());
+
+        assertThat(personalItem().nextBooking()).isEqualTo(marker);
+    }
+
+    @Test
+    void getPersonalItems_shouldQueryBookingsWhenDatesWentStale() {
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+        jdbcTemplate.update("update items set next_booking = ?, booking_dates_stale_at = ? where item_id = ?",
+                LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.now().minusMinutes(1), item.getId());
+
+        assertThat(personalItem().nextBooking()).isEqualTo(start);
+    }
+
+    @Test
+    void refreshStale_shouldMoveDatesForwardAsBookingsEnd() {
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+        bookingService.createBooking(
+                new NewBookingRequest(item.getId(), start.plusDays(2), start.plusDays(3)), booker.getId());
+
+        assertThat(refresher.refreshStale(start.minusHours(1))).isZero();
+
+        refresher.refreshStale(start.plusHours(1));
+        assertThat(columns(item)).containsEntry("LAST_BOOKING", null)
+                .containsEntry("NEXT_BOOKING", start.plusDays(2))
+                .containsEntry("BOOKING_DATES_STALE_AT", start.plusDays(1));
+
+        refresher.refreshStale(start.plusDays(4));
+        assertThat(columns(item)).containsEntry("LAST_BOOKING", start.plusDays(2))
+                .containsEntry("NEXT_BOOKING", null)
+                .containsEntry("BOOKING_DATES_STALE_AT", null);
+    }
+
+    @Test
+    void staleAt_shouldMeanTheSameOnReadAndRefresh() {
+        bookingService.createBooking(new NewBookingRequest(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        assertThat(itemRepository.findFreshBookingDates(item.getId(), start)).isPresent();
+        assertThat(refresher.refreshStale(start)).isZero();
+
+        assertThat(itemRepository.findFreshBookingDates(item.getId(), start.plusSeconds(1))).isEmpty();
+        assertThat(refresher.refreshStale(start.plusSeconds(1))).isOne();
+    }
+
+    private Map<String, LocalDateTime> columns(Item item) {
+        return jdbcTemplate.queryForObject("select last_booking, next_booking, booking_dates_stale_at from items "
+                + "where item_id = ?", (rs, rowNum) -> {
+                    Map<String, LocalDateTime> columns = new HashMap<>();
+                    for (String column : List.of("LAST_BOOKING", "NEXT_BOOKING", "BOOKING_DATES_STALE_AT")) {
+                        columns.put(column, rs.getObject(column, LocalDateTime.class));
+                    }
+                    return columns;
+                }, item.getId());
+    }
+
+    private ItemWithCommentDto personalItem() {
+        entityManager.clear();
+        return itemService.getPersonalItems(owner.getId(), 0, 10, null).items().stream()
+                .filter(dto -> dto.id().equals(item.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
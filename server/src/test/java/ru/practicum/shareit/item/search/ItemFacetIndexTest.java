@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetPage;
+import ru.practicum.shareit.item.dto.ItemFacetQuery;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemFacetIndexTest {
+    private ItemFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemFacetIndex();
+        index.put(1L, "Drill", "Powerful drill", 10L, null, true);
+        index.put(2L, "Broken drill", "Not working", 10L, null, false);
+        index.put(3L, "Drill bits", "Spare bits", 20L, 100L, true);
+        index.put(4L, "Saw", "Hand saw", 20L, 100L, true);
+        index.markReady();
+    }
+
+    @Test
+    void search_shouldCountFacetsOfAllMatches() {
+        ItemFacetPage page = index.search(new ItemFacetQuery("DRILL", null, null, null, 0, 1));
+
+        assertThat(page.items()).extracting(ItemDto::id).containsExactly(1L);
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(page.facets().owners()).containsExactly(Map.entry(10L, 2), Map.entry(20L, 1));
+        assertThat(page.facets().requests()).containsExactly(Map.entry(100L, 1));
+        assertThat(page.facets().availability()).containsExactly(Map.entry(true, 2), Map.entry(false, 1));
+    }
+
+    @Test
+    void search_shouldIntersectFilters() {
+        assertThat(index.search(new ItemFacetQuery("drill", 10L, null, false, 0, 10)).items())
+                .extracting(ItemDto::id).containsExactly(2L);
+        assertThat(index.search(new ItemFacetQuery("", null, 100L, true, 0, 10)).items())
+                .extracting(ItemDto::id).containsExactly(3L, 4L);
+        assertThat(index.search(new ItemFacetQuery("saw", 10L, null, null, 0, 10)).total()).isZero();
+        assertThat(index.search(new ItemFacetQuery("drill", 30L, null, null, 0, 10)).total()).isZero();
+    }
+
+    @Test
+    void put_shouldMoveItemBetweenFacets() {
+        index.put(4L, "Saw", "Hand saw", 10L, null, false);
+
+        ItemFacetPage page = index.search(new ItemFacetQuery("saw", null, null, null, 0, 10));
+        assertThat(page.items()).containsExactly(new ItemDto(4L, "Saw", "Hand saw", false));
+        assertThat(page.facets().owners()).containsExactly(Map.entry(10L, 1));
+        assertThat(page.facets().requests()).isEmpty();
+        assertThat(index.search(new ItemFacetQuery("", 20L, null, null, 0, 10)).items())
+                .extracting(ItemDto::id).containsExactly(3L);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Не входит в обычную сборку: mvn -pl server -Pbenchmark test -Dbenchmark.items=1000000 -Dbenchmark.shards=1,2,4,8
+class ItemSearchIndexBenchmark {
+    private static final String[] WORDS = {
+            "drill", "hammer", "saw", "ladder", "tent", "bike", "cordless", "power", "garden", "hose",
+            "wrench", "clamp", "sander", "grinder", "router", "chisel", "level", "trolley", "pump", "mixer",
+            "дрель", "молоток", "пила", "лестница", "палатка", "велосипед", "насос", "шлифмашина", "ключ", "тачка"
+    };
+    private static final int WARMUP = 5;
+    private static final int RUNS = 25;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void search_shouldScaleWithShards() throws IOException {
+        int itemCount = Integer.getInteger("benchmark.items", 1_000_000);
+        ItemSearchSegment segment = generate(itemCount);
+        Map<String, Query> queries = new LinkedHashMap<>();
+        queries.put("rare word, page of 10", index -> index.search("drill 4242", 0, 0, 10));
+        queries.put("common word, page of 10", index -> index.search("garden", 0, 0, 10));
+        queries.put("common word, offset 5000", index -> index.search("garden", 0, 5000, 10));
+        queries.put("two words, all matches", index -> index.search("garden drill"));
+        queries.put("short text, all matches", index -> index.search("ke"));
+
+        System.out.printf("%nItems: %d, cores: %d%n", itemCount, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-28s %8s %12s %12s %10s%n", "query", "shards", "median, ms", "p95, ms", "results");
+        Map<String, List<ItemDto>> expected = new HashMap<>();
+        for (int shards : shardCounts()) {
+            ItemSearchIndex index = new ItemSearchIndex(shards);
+            try {
+                index.load(segment);
+                for (Map.Entry<String, Query> query : queries.entrySet()) {
+                    List<ItemDto> result = query.getValue().run(index);
+                    assertThat(result).isEqualTo(expected.computeIfAbsent(query.getKey(), key -> result));
+                    long[] nanos = measure(() -> query.getValue().run(index));
+                    System.out.printf("%-28s %8d %12.2f %12.2f %10d%n", query.getKey(), shards,
+                            nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 95 / 100] / 1e6, result.size());
+                }
+            } finally {
+                index.destroy();
+            }
+        }
+    }
+
+    private ItemSearchSegment generate(int itemCount) throws IOException {
+        Random random = new Random(42);
+        ItemSearchSegment.Writer writer = new ItemSearchSegment.Writer(LocalDateTime.now());
+        for (long id = 1; id <= itemCount; id++) {
+            String name = word(random) + " " + id;
+            String description = word(random) + " " + word(random) + " " + word(random) + " " + word(random);
+            writer.add(new ItemDto(id, name, description, true));
+        }
+        return writer.write(directory.resolve("items.seg"));
+    }
+
+    private static long[] measure(Supplier<List<ItemDto>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static int[] shardCounts() {
+        String shards = System.getProperty("benchmark.shards");
+        if (shards != null) {
+            return Arrays.stream(shards.split(",")).mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return IntStream.concat(IntStream.iterate(1, count -> count < cores, count -> count * 2), IntStream.of(cores))
+                .toArray();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private interface Query {
+        List<ItemDto> run(ItemSearchIndex index);
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(1L, "Drill", "Powerful drill", true);
+        index.put(2L, "Hammer", "Old hammer", false);
+        index.put(3L, "Saw", "Hand saw for wood", true);
+        index.put(4L, "Screwdriver", "Cordless DRILL driver", true);
+        index.markReady();
+    }
+
+    @Test
+    void search_shouldMatchSubstringCaseInsensitive() {
+        List<ItemDto> result = index.search("dRiL");
+
+        assertThat(result).extracting(ItemDto::id).containsExactly(1L, 4L);
+        assertThat(result.getFirst()).isEqualTo(new ItemDto(1L, "Drill", "Powerful drill", true));
+    }
+
+    @Test
+    void search_shouldMatchShortQueries() {
+        assertThat(index.search("sa")).extracting(ItemDto::id).containsExactly(3L);
+    }
+
+    @Test
+    void search_shouldVerifyCandidates() {
+        index.put(5L, "Abcd", "bcde", true);
+
+        assertThat(index.search("abcde")).isEmpty();
+        assertThat(index.search("for wood")).extracting(ItemDto::id).containsExactly(3L);
+    }
+
+    @Test
+    void search_shouldPageInIdOrder() {
+        assertThat(index.search("dri", 0, 0, 1)).extracting(ItemDto::id).containsExactly(1L);
+        assertThat(index.search("dri", 1L, 0, 1)).extracting(ItemDto::id).containsExactly(4L);
+        assertThat(index.search("dri", 0, 1, 10)).extracting(ItemDto::id).containsExactly(4L);
+        assertThat(index.search("s", 3L, 0, 10)).extracting(ItemDto::id).containsExactly(4L);
+    }
+
+    @Test
+    void search_shouldNotReturnUnavailableItems() {
+        assertThat(index.search("hammer")).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_shouldReplaceIndexedText() {
+        index.put(1L, "Jigsaw", "Electric saw", true);
+
+        assertThat(index.search("drill")).extracting(ItemDto::id).containsExactly(4L);
+        assertThat(index.search("saw")).extracting(ItemDto::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void put_shouldFollowAvailabilityFlips() {
+        index.put(1L, "Drill", "Powerful drill", false);
+        index.put(2L, "Hammer", "Old hammer", true);
+
+        assertThat(index.search("drill")).extracting(ItemDto::id).containsExactly(4L);
+        assertThat(index.search("hammer")).extracting(ItemDto::id).containsExactly(2L);
+    }
+
+    @Test
+    void load_shouldServeItemsFromSegment(@TempDir Path directory) throws IOException {
+        ItemSearchIndex loaded = loadSegment(directory);
+
+        assertThat(loaded.size()).isEqualTo(3);
+        assertThat(loaded.pendingChanges()).isZero();
+        assertThat(loaded.search("dRiL")).isEqualTo(index.search("dRiL"));
+        assertThat(loaded.search("sa")).extracting(ItemDto::id).containsExactly(3L);
+        assertThat(loaded.search("for wood")).extracting(ItemDto::id).containsExactly(3L);
+        assertThat(loaded.search("hammer")).isEmpty();
+        assertThat(loaded.search("dri", 1L, 0, 1)).extracting(ItemDto::id).containsExactly(4L);
+    }
+
+    @Test
+    void put_shouldHideOutdatedSegmentCopies(@TempDir Path directory) throws IOException {
+        ItemSearchIndex loaded = loadSegment(directory);
+
+        loaded.put(1L, "Jigsaw", "Electric saw", true);
+        loaded.put(3L, "Saw", "Hand saw for wood", false);
+        loaded.put(2L, "Hammer", "Old hammer", true);
+        loaded.put(6L, "Drill press", "Bench drill", true);
+
+        assertThat(loaded.search("drill")).extracting(ItemDto::id).containsExactly(4L, 6L);
+        assertThat(loaded.search("saw")).extracting(ItemDto::id).containsExactly(1L);
+        assertThat(loaded.search("hammer")).extracting(ItemDto::id).containsExactly(2L);
+        assertThat(loaded.search("r", 0, 1, 2)).extracting(ItemDto::id).containsExactly(2L, 4L);
+        assertThat(loaded.size()).isEqualTo(4);
+        assertThat(loaded.pendingChanges()).isEqualTo(5);
+    }
+
+    @Test
+    void forEach_shouldMergeSegmentAndChangesInIdOrder(@TempDir Path directory) throws IOException {
+        ItemSearchIndex loaded = loadSegment(directory);
+        loaded.put(2L, "Hammer", "Old hammer", true);
+        loaded.put(4L, "Screwdriver", "Cordless driver", true);
+
+        List<ItemDto> items = new ArrayList<>();
+        loaded.forEach(items::add);
+
+        assertThat(items).extracting(ItemDto::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(items.get(3).description()).isEqualTo("Cordless driver");
+    }
+
+    @Test
+    void search_shouldReturnSameResultsWhenSharded(@TempDir Path directory) throws IOException {
+        String[] words = {"drill", "hammer", "saw", "ladder", "tent", "bike", "дрель", "пила"};
+        Random random = new Random(7);
+        ItemSearchIndex single = new ItemSearchIndex();
+        ItemSearchIndex sharded = new ItemSearchIndex(4);
+        try {
+            ItemSearchSegment.Writer writer = new ItemSearchSegment.Writer(LocalDateTime.now());
+            for (long id = 1; id <= 500; id++) {
+                String name = words[random.nextInt(words.length)] + " " + id;
+                String description = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                writer.add(new ItemDto(id, name, description, true));
+            }
+            ItemSearchSegment segment = writer.write(directory.resolve("items.seg"));
+            single.load(segment);
+            sharded.load(segment);
+            for (int i = 0; i < 300; i++) {
+                long id = 1 + random.nextInt(700);
+                String name = words[random.nextInt(words.length)] + " " + id;
+                boolean available = random.nextInt(4) > 0;
+                single.put(id, name, "changed", available);
+                sharded.put(id, name, "changed", available);
+            }
+
+            assertThat(sharded.size()).isEqualTo(single.size());
+            for (String query : List.of("dri", "ha", "saw 1", "changed", "пила", "1", "x")) {
+                assertThat(sharded.search(query)).isEqualTo(single.search(query));
+                assertThat(sharded.search(query, 100L, 3, 7)).isEqualTo(single.search(query, 100L, 3, 7));
+            }
+            List<ItemDto> all = new ArrayList<>();
+            sharded.forEach(all::add);
+            assertThat(all).extracting(ItemDto::id).isSorted().hasSize(single.size());
+        } finally {
+            sharded.destroy();
+        }
+    }
+
+    @Test
+    void open_shouldRejectForeignFile(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("items.seg"), "not a segment, just some text here");
+
+        assertThatThrownBy(() -> ItemSearchSegment.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a search segment");
+    }
+
+    @Test
+    void clear_shouldResetReadiness() {
+        index.clear();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    private ItemSearchIndex loadSegment(Path directory) throws IOException {
+        ItemSearchSegment.Writer writer = new ItemSearchSegment.Writer(LocalDateTime.now());
+        index.forEach(writer::add);
+        ItemSearchIndex loaded = new ItemSearchIndex();
+        loaded.load(writer.write(directory.resolve("items.seg")));
+        loaded.markReady();
+        return loaded;
+    }
+}
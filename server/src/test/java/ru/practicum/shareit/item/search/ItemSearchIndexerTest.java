@@ -0,0 +1,189 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchQuery;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ItemSearchIndexerTest {
+    @TempDir
+    private Path directory;
+
+    private ItemRepository itemRepository;
+    private ItemSearchProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        properties = new ItemSearchProperties(true, 2, SearchBackend.LIKE, true, 10, DataSize.ofMegabytes(1), true,
+                true, directory, Duration.ofMinutes(1), false, 1, false);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> Stream.of(item(1L, "Drill", "Powerful drill", true),
+                                item(2L, "Saw", "Hand saw", true), item(3L, "Drill bits", "Spare bits", true))
+                        .filter(item -> item.getId() > invocation.<Long>getArgument(0))
+                        .limit(invocation.<Limit>getArgument(1).max())
+                        .toList());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldRebuildAndSaveSegmentWhenNoneExists() throws IOException {
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+        ItemSearchIndexer indexer = indexer(searchIndex, new ItemTermIndex());
+
+        indexer.afterSingletonsInstantiated();
+
+        assertThat(segments()).hasSize(1);
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.pendingChanges()).isZero();
+        assertThat(searchIndex.search("drill")).extracting(ItemDto::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldRestoreSegmentAndCatchUpWithoutFullScan() throws IOException {
+        indexer(new ItemSearchIndex(), new ItemTermIndex()).afterSingletonsInstantiated();
+        clearInvocations(itemRepository);
+        when(itemRepository.findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(List.of(item(1L, "Drill", "Powerful drill", false), item(4L, "Hammer", "Old hammer", true)))
+                .thenReturn(List.of());
+
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+        ItemTermIndex termIndex = new ItemTermIndex();
+        ItemSearchIndexer indexer = indexer(searchIndex, termIndex);
+        indexer.afterSingletonsInstantiated();
+
+        verify(itemRepository, never()).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        assertThat(searchIndex.search("drill")).extracting(ItemDto::id).containsExactly(3L);
+        assertThat(searchIndex.search("hammer")).extracting(ItemDto::id).containsExactly(4L);
+        assertThat(termIndex.search(new ItemSearchQuery(
+                "saw", 0, 10, null, false, SearchOperator.AND, SearchSort.DEFAULT), 0)).containsExactly(2L);
+
+        indexer.destroy();
+
+        List<Path> segments = segments();
+        assertThat(segments).hasSize(1);
+        assertThat(ItemSearchSegment.open(segments.getFirst()).size()).isEqualTo(3);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldRebuildWhenSegmentIsCorrupted() throws IOException {
+        Files.writeString(directory.resolve("items-1.seg"), "garbage");
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+
+        indexer(searchIndex, new ItemTermIndex()).afterSingletonsInstantiated();
+
+        verify(itemRepository, atLeastOnce()).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        assertThat(searchIndex.size()).isEqualTo(3);
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldApplyChangesMadeDuringBuild() {
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+        ItemTermIndex termIndex = new ItemTermIndex();
+        ItemSearchIndexer indexer = indexer(searchIndex, termIndex);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    indexer.onItemChanged(new ItemChangedEvent(1L, "Drill", "Powerful drill", false, 1L, null));
+                    return List.of(item(1L, "Drill", "Powerful drill", true), item(2L, "Saw", "Hand saw", true));
+                });
+
+        indexer.afterSingletonsInstantiated();
+
+        assertThat(searchIndex.search("drill")).extracting(ItemDto::id).containsExactly(3L);
+        assertThat(termIndex.search(new ItemSearchQuery(
+                "drill", 0, 10, null, false, SearchOperator.AND, SearchSort.DEFAULT), 0)).containsExactly(3L);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldRestoreSegmentWhenSearchIndexDisabled() throws IOException {
+        properties = new ItemSearchProperties(false, 2, SearchBackend.LIKE, true, 10, DataSize.ofMegabytes(1), true,
+                true, directory, Duration.ofMinutes(1), false, 1, false);
+        indexer(new ItemSearchIndex(), new ItemTermIndex()).afterSingletonsInstantiated();
+        assertThat(segments()).hasSize(1);
+        clearInvocations(itemRepository);
+        when(itemRepository.findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(List.of());
+
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+        ItemTermIndex termIndex = new ItemTermIndex();
+        indexer(searchIndex, termIndex).afterSingletonsInstantiated();
+
+        verify(itemRepository, never()).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.search("drill")).extracting(ItemDto::id).containsExactly(1L, 3L);
+        assertThat(termIndex.isReady()).isTrue();
+        assertThat(termIndex.search(new ItemSearchQuery(
+                "saw", 0, 10, null, false, SearchOperator.AND, SearchSort.DEFAULT), 0)).containsExactly(2L);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldKeepFullTextBackendWhenSearchIndexDisabled() {
+        properties = new ItemSearchProperties(false, 2, SearchBackend.FULLTEXT, true, 10, DataSize.ofMegabytes(1), true,
+                true, directory, Duration.ofMinutes(1), false, 1, false);
+        ItemSearchIndex searchIndex = new ItemSearchIndex();
+
+        indexer(searchIndex, new ItemTermIndex()).afterSingletonsInstantiated();
+
+        assertThat(searchIndex.isReady()).isFalse();
+    }
+
+    @Test
+    void destroy_shouldStampSegmentWithModifiedHighWaterMarkOfDatabase() throws IOException {
+        LocalDateTime built = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 250_000_000);
+        when(itemRepository.findMaxModified()).thenReturn(Optional.of(built));
+        indexer(new ItemSearchIndex(), new ItemTermIndex()).afterSingletonsInstantiated();
+        assertThat(ItemSearchSegment.open(segments().getFirst()).watermark()).isEqualTo(built);
+
+        LocalDateTime caughtUp = built.plusHours(2);
+        when(itemRepository.findMaxModified()).thenReturn(Optional.of(caughtUp));
+        when(itemRepository.findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(any(), anyLong(), any()))
+                .thenReturn(List.of(item(4L, "Hammer", "Old hammer", true)))
+                .thenReturn(List.of());
+        ItemSearchIndexer indexer = indexer(new ItemSearchIndex(), new ItemTermIndex());
+        indexer.afterSingletonsInstantiated();
+        indexer.destroy();
+
+        verify(itemRepository).findByModifiedGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+                eq(built.minusMinutes(1)), eq(0L), any());
+        assertThat(segments()).hasSize(1);
+        assertThat(ItemSearchSegment.open(segments().getFirst()).watermark()).isEqualTo(caughtUp);
+    }
+
+    private ItemSearchIndexer indexer(ItemSearchIndex searchIndex, ItemTermIndex termIndex) {
+        return new ItemSearchIndexer(searchIndex, new ItemSuggestIndex(properties), termIndex, new ItemFacetIndex(),
+                itemRepository, properties);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        Item item = new Item(name, description, available, null);
+        item.setId(id);
+        return item;
+    }
+}
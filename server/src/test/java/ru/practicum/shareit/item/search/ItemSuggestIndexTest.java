@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSuggestIndexTest {
+    private ItemSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex(DataSize.ofMegabytes(1));
+        index.put(1L, "Drill", true);
+        index.put(2L, "Drill", true);
+        index.put(3L, "Drill press", true);
+        index.put(4L, "Dremel", true);
+        index.put(5L, "Dress", false);
+        index.put(6L, "Hammer", true);
+        index.markReady();
+    }
+
+    @Test
+    void suggest_shouldReturnMostFrequentNamesFirst() {
+        assertThat(index.suggest("dr", 10)).containsExactly("Drill", "Dremel", "Drill press");
+        assertThat(index.suggest("DRILL", 10)).containsExactly("Drill", "Drill press");
+        assertThat(index.suggest("d", 2)).containsExactly("Drill", "Dremel");
+    }
+
+    @Test
+    void suggest_shouldReturnEmptyListForUnknownPrefix() {
+        assertThat(index.suggest("saw", 10)).isEmpty();
+        assertThat(index.suggest("dress", 10)).isEmpty();
+    }
+
+    @Test
+    void put_shouldMoveRenamedItem() {
+        index.put(1L, "Hammer drill", true);
+        index.put(2L, "Hammer drill", true);
+
+        assertThat(index.suggest("dr", 10)).containsExactly("Dremel", "Drill press");
+        assertThat(index.suggest("ham", 10)).containsExactly("Hammer drill", "Hammer");
+    }
+
+    @Test
+    void put_shouldRestoreNamesOutsideTopWhenLeaderIsRemoved() {
+        ItemSuggestIndex small = newIndex(DataSize.ofMegabytes(1), 2);
+        small.put(1L, "Drill", true);
+        small.put(2L, "Drill", true);
+        small.put(3L, "Dremel", true);
+        small.put(4L, "Drill press", true);
+
+        small.put(1L, "Drill", false);
+        small.put(2L, "Drill", false);
+
+        assertThat(small.suggest("d", 10)).containsExactly("Dremel", "Drill press");
+    }
+
+    @Test
+    void remove_shouldReleaseEstimatedMemory() {
+        for (long id = 1; id <= 6; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isZero();
+        assertThat(index.estimatedBytes()).isZero();
+        assertThat(index.suggest("d", 10)).isEmpty();
+    }
+
+    @Test
+    void put_shouldRejectNamesOverMemoryBudget() {
+        ItemSuggestIndex tiny = newIndex(DataSize.ofBytes(1024));
+
+        assertThat(tiny.put(1L, "Drill", true)).isTrue();
+        assertThat(tiny.put(2L, "A very long name that does not fit", true)).isFalse();
+        assertThat(tiny.suggest("a", 10)).isEmpty();
+        assertThat(tiny.estimatedBytes()).isLessThanOrEqualTo(1024);
+    }
+
+    private static ItemSuggestIndex newIndex(DataSize budget) {
+        return newIndex(budget, 10);
+    }
+
+    private static ItemSuggestIndex newIndex(DataSize budget, int limit) {
+        return new ItemSuggestIndex(new ItemSearchProperties(false, 1000, SearchBackend.LIKE, true, limit, budget, false,
+                false, Path.of("search-segments"), Duration.ofMinutes(1), false, 1, false));
+    }
+}
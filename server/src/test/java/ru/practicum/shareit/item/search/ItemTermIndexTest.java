@@ -0,0 +1,185 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemSearchQuery;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTermIndexTest {
+    private static final String[] WORDS = {
+            "drill", "hammer", "saw", "ladder", "tent", "bike", "cordless", "power", "garden", "hose",
+            "дрель", "молоток", "пила", "лестница", "палатка", "велосипед", "аккумуляторная", "x", "ab"
+    };
+
+    private ItemTermIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemTermIndex();
+        index.put(1L, "Drill", "Powerful drill", true);
+        index.put(2L, "Hammer", "Old hammer", false);
+        index.put(3L, "Saw", "Hand saw for wood", true);
+        index.put(4L, "Screwdriver", "Cordless drills driver", true);
+        index.put(5L, "Дрель", "Аккумуляторная дрель", true);
+        index.markReady();
+    }
+
+    @Test
+    void distance_shouldCountAdjacentSwapAsOneEdit() {
+        assertThat(ItemTermIndex.distance("dirll", "drill", 2)).isEqualTo(1);
+        assertThat(ItemTermIndex.distance("dril", "drill", 2)).isEqualTo(1);
+        assertThat(ItemTermIndex.distance("drlil", "drill", 2)).isEqualTo(1);
+        assertThat(ItemTermIndex.distance("hamr", "hammer", 2)).isEqualTo(2);
+        assertThat(ItemTermIndex.distance("hmr", "hammer", 2)).isEqualTo(3);
+        assertThat(ItemTermIndex.distance("saw", "saw", 0)).isZero();
+    }
+
+    @Test
+    void search_shouldMatchMisspelledTermsClosestFirst() {
+        assertThat(search(index, "drlil", 0, 10)).containsExactly(1L);
+        assertThat(search(index, "drils", 0, 10)).containsExactly(1L, 4L);
+        assertThat(search(index, "drills", 0, 10)).containsExactly(4L, 1L);
+        assertThat(search(index, "дрлеь", 0, 10)).containsExactly(5L);
+    }
+
+    @Test
+    void search_shouldRequireEveryTerm() {
+        assertThat(search(index, "cordles drils", 0, 10)).containsExactly(4L);
+        assertThat(search(index, "cordles hamer", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchShortTermsExactly() {
+        assertThat(search(index, "saw", 0, 10)).containsExactly(3L);
+        assertThat(search(index, "sa", 0, 10)).isEmpty();
+        assertThat(search(index, "sax", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void search_shouldSkipUnavailableAndRemovedItems() {
+        assertThat(search(index, "hammer", 0, 10)).isEmpty();
+
+        index.put(3L, "Saw", "Hand saw for wood", false);
+
+        assertThat(search(index, "saw", 0, 10)).isEmpty();
+        assertThat(search(index, "wood", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldPageResults() {
+        assertThat(search(index, "drill", 0, 1)).containsExactly(1L);
+        assertThat(search(index, "drill", 1, 1)).containsExactly(4L);
+        assertThat(search(index, "drill", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankByBm25WhenSortedByRelevance() {
+        ItemTermIndex ranked = new ItemTermIndex();
+        ranked.put(10L, "Camping gear", "Tent inside", true);
+        ranked.put(11L, "Tent", "Camping gear", true);
+        ranked.put(12L, "Drill bits", "Spare bits for drill", true);
+        ranked.put(13L, "Drill", "Drill with drill bits", true);
+
+        assertThat(ranked.search(query("tent", false, SearchOperator.AND, SearchSort.RELEVANCE, 10), 0))
+                .containsExactly(11L, 10L);
+        assertThat(ranked.search(query("drill", false, SearchOperator.AND, SearchSort.RELEVANCE, 10), 0))
+                .containsExactly(13L, 12L);
+        assertThat(ranked.search(query("tent", false, SearchOperator.AND, SearchSort.DEFAULT, 10), 0))
+                .containsExactly(10L, 11L);
+    }
+
+    @Test
+    void search_shouldRankExactMatchesAboveMisspelledOnes() {
+        assertThat(index.search(query("drills", true, SearchOperator.AND, SearchSort.RELEVANCE, 10), 0))
+                .containsExactly(4L, 1L);
+    }
+
+    @Test
+    void search_shouldMatchAnyTermWithOrOperator() {
+        assertThat(index.search(query("saw drill", false, SearchOperator.AND, SearchSort.DEFAULT, 10), 0))
+                .isEmpty();
+        assertThat(index.search(query("saw drill", false, SearchOperator.OR, SearchSort.DEFAULT, 10), 0))
+                .containsExactly(1L, 3L);
+        assertThat(index.search(query("powerful drill", false, SearchOperator.OR, SearchSort.DEFAULT, 10), 0))
+                .containsExactly(1L);
+        assertThat(index.search(query("saw powerful drill", false, SearchOperator.OR, SearchSort.RELEVANCE, 10), 0))
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void top_shouldSelectPageWithoutSortingAllValues() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(7));
+
+        assertThat(ItemTermIndex.top(values, Comparator.<Integer>naturalOrder(), 10, 5))
+                .containsExactly(11, 12, 13, 14, 15);
+        assertThat(ItemTermIndex.top(values, Comparator.<Integer>reverseOrder(), 0, 3))
+                .containsExactly(100, 99, 98);
+        assertThat(ItemTermIndex.top(values, Comparator.<Integer>naturalOrder(), 98, Integer.MAX_VALUE))
+                .containsExactly(99, 100);
+        assertThat(ItemTermIndex.top(values, Comparator.<Integer>naturalOrder(), 100, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchBruteForceOverRandomCatalog() {
+        Random random = new Random(42);
+        ItemTermIndex randomIndex = new ItemTermIndex();
+        Map<Long, String> texts = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            String text = typo(random, WORDS[random.nextInt(WORDS.length)]) + " "
+                    + typo(random, WORDS[random.nextInt(WORDS.length)]);
+            texts.put(id, text);
+            randomIndex.put(id, text, "", true);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String term = typo(random, typo(random, WORDS[random.nextInt(WORDS.length)]));
+            int maxDistance = ItemTermIndex.maxDistance(term.length());
+            Set<Long> expected = new TreeSet<>();
+            texts.forEach((id, text) -> {
+                for (String word : text.split(" ")) {
+                    if (ItemTermIndex.distance(term, word, maxDistance) <= maxDistance) {
+                        expected.add(id);
+                    }
+                }
+            });
+
+            assertThat(new TreeSet<>(search(randomIndex, term, 0, Integer.MAX_VALUE)))
+                    .as("term '%s'", term)
+                    .isEqualTo(expected);
+        }
+    }
+
+    private static List<Long> search(ItemTermIndex index, String text, int offset, int limit) {
+        return index.search(query(text, true, SearchOperator.AND, SearchSort.DEFAULT, limit), offset);
+    }
+
+    private static ItemSearchQuery query(String text, boolean fuzzy, SearchOperator operator, SearchSort sort,
+                                         int size) {
+        return new ItemSearchQuery(text, 0, size, null, fuzzy, operator, sort);
+    }
+
+    private static String typo(Random random, String word) {
+        if (word.length() < 2) {
+            return word;
+        }
+        StringBuilder builder = new StringBuilder(word);
+        int position = random.nextInt(word.length() - 1);
+        switch (random.nextInt(4)) {
+            case 0 -> builder.deleteCharAt(position);
+            case 1 -> builder.insert(position, (char) ('a' + random.nextInt(26)));
+            case 2 -> builder.setCharAt(position, (char) ('a' + random.nextInt(26)));
+            default -> {
+                builder.setCharAt(position, word.charAt(position + 1));
+                builder.setCharAt(position + 1, word.charAt(position));
+            }
+        }
+        return builder.toString();
+    }
+}
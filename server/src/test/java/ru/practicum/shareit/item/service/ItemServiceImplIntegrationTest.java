@@ -18,16 +18,25 @@ import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemFacetIndex;
+import ru.practicum.shareit.item.search.ItemTermIndex;
+import ru.practicum.shareit.item.search.SearchOperator;
+import ru.practicum.shareit.item.search.SearchSort;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -47,6 +56,10 @@ class ItemServiceImplIntegrationTest {
     private ItemRequestRepository itemRequestRepository;
     @Autowired
     private EntityManager entityManager;
+    @Autowired
+    private ItemTermIndex termIndex;
+    @Autowired
+    private ItemFacetIndex facetIndex;
 
     private User owner;
     private User booker;
@@ -140,15 +153,171 @@ class ItemServiceImplIntegrationTest {
                 .hasMessage("Item not found with ID: 999");
     }
 
+    @Test
+    void getPersonalItems_shouldPickLastAndNextBookingPerItem() {
+        Item saw = itemRepository.save(new Item("Saw", "Hand saw", true, owner));
+        Item ladder = itemRepository.save(new Item("Ladder", "Tall ladder", true, owner));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingRepository.save(new Booking(item, booker, now.minusDays(20), now.minusDays(1), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(item, booker, now.minusDays(2), now.plusDays(1), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(item, booker, now.plusHours(5), now.plusHours(6), BookingStatus.REJECTED));
+        bookingRepository.save(new Booking(saw, booker, now.minusDays(9), now.minusDays(8), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(saw, booker, now.minusDays(7), now.minusDays(6), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(saw, booker, now.plusDays(9), now.plusDays(10), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(saw, booker, now.plusDays(4), now.plusDays(5), BookingStatus.WAITING));
+
+        Map<Long, ItemWithCommentDto> result = itemService.getPersonalItems(owner.getId(), 0, 10, null).items()
+                .stream()
+                .collect(Collectors.toMap(ItemWithCommentDto::id, dto -> dto));
+
+        assertThat(result.get(item.getId()).lastBooking()).isEqualTo(now.minusDays(20));
+        assertThat(result.get(item.getId()).nextBooking()).isEqualTo(now.plusHours(5));
+        assertThat(result.get(saw.getId()).lastBooking()).isEqualTo(now.minusDays(7));
+        assertThat(result.get(saw.getId()).nextBooking()).isEqualTo(now.plusDays(4));
+        assertThat(result.get(ladder.getId()).lastBooking()).isNull();
+        assertThat(result.get(ladder.getId()).nextBooking()).isNull();
+    }
+
+    @Test
+    void refreshBookingDates_shouldMaterializeDatesWhileReadsAreDisabled() {
+        itemService.refreshBookingDates(List.of(item.getId()));
+        entityManager.clear();
+
+        Item refreshed = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(refreshed.getLastBooking()).isCloseTo(pastBooking.getStart(), within(1, ChronoUnit.MILLIS));
+        assertThat(refreshed.getNextBooking()).isCloseTo(futureBooking.getStart(), within(1, ChronoUnit.MILLIS));
+        assertThat(refreshed.getBookingDatesStaleAt()).isEqualTo(refreshed.getNextBooking());
+    }
+
+    @Test
+    void getPersonalItems_shouldPageItemsWithTheirComments() {
+        Item saw = itemRepository.save(new Item("Saw", "Hand saw", true, owner));
+        Item ladder = itemRepository.save(new Item("Ladder", "Tall ladder", true, owner));
+        bookingRepository.save(new Booking(saw, booker, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2), BookingStatus.APPROVED));
+        itemService.addComment(saw.getId(), booker.getId(), new NewCommentRequest("Sharp"));
+        itemService.addComment(saw.getId(), booker.getId(), new NewCommentRequest("Still sharp"));
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemPage firstPage = itemService.getPersonalItems(owner.getId(), 0, 2, null);
+        ItemPage lastPage = itemService.getPersonalItems(owner.getId(), 0, 2, firstPage.nextCursor());
+
+        assertThat(firstPage.items()).extracting(ItemWithCommentDto::id).containsExactly(item.getId(), saw.getId());
+        assertThat(firstPage.items().getLast().comments()).extracting(CommentDto::text)
+                .containsExactly("Still sharp", "Sharp");
+        assertThat(firstPage.items().getLast().commentCount()).isEqualTo(2);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(lastPage.items()).extracting(ItemWithCommentDto::id).containsExactly(ladder.getId());
+        assertThat(lastPage.items().getFirst().comments()).isEmpty();
+        assertThat(lastPage.nextCursor()).isNull();
+        assertThat(itemService.getPersonalItems(owner.getId(), 2, 2, null)).isEqualTo(lastPage);
+    }
+
+    @Test
+    void getPersonalItems_shouldReturnWholeListWithoutSize() {
+        Item saw = itemRepository.save(new Item("Saw", "Hand saw", true, owner));
+        Item ladder = itemRepository.save(new Item("Ladder", "Tall ladder", true, owner));
+
+        ItemPage page = itemService.getPersonalItems(owner.getId(), 0, Integer.MAX_VALUE, null);
+
+        assertThat(page.items()).extracting(ItemWithCommentDto::id)
+                .containsExactly(item.getId(), saw.getId(), ladder.getId());
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getPersonalItems_shouldRejectInvalidPage() {
+        assertThatThrownBy(() -> itemService.getPersonalItems(owner.getId(), -1, 10, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> itemService.getPersonalItems(owner.getId(), 0, 0, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> itemService.getPersonalItems(owner.getId(), 0, 10, "not a cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid item cursor: not a cursor");
+    }
+
+    @Test
+    void getItemById_shouldEmbedLatestCommentsAndTotalCount() {
+        addComments(12);
+
+        ItemWithCommentDto result = itemService.getItemById(item.getId(), booker.getId());
+
+        assertThat(result.commentCount()).isEqualTo(12);
+        assertThat(result.comments()).hasSize(10);
+        assertThat(result.comments().getFirst().text()).isEqualTo("Comment 12");
+        assertThat(result.comments().getLast().text()).isEqualTo("Comment 3");
+    }
+
+    @Test
+    void getComments_shouldPageAllCommentsByCursor() {
+        addComments(5);
+
+        CommentPage firstPage = itemService.getComments(item.getId(), 2, null);
+        CommentPage secondPage = itemService.getComments(item.getId(), 2, firstPage.nextCursor());
+        CommentPage lastPage = itemService.getComments(item.getId(), 2, secondPage.nextCursor());
+
+        assertThat(firstPage.comments()).extracting(CommentDto::text).containsExactly("Comment 5", "Comment 4");
+        assertThat(secondPage.comments()).extracting(CommentDto::text).containsExactly("Comment 3", "Comment 2");
+        assertThat(lastPage.comments()).extracting(CommentDto::text).containsExactly("Comment 1");
+        assertThat(lastPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void getComments_shouldRejectUnknownItemAndInvalidCursor() {
+        assertThatThrownBy(() -> itemService.getComments(999L, 10, null))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> itemService.getComments(item.getId(), 10, "not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     void getPersonalItems_shouldReturnEmptyListWhenNoItems() {
         User userWithoutItems = userRepository.save(new User("NoItems", "noitems@test.com"));
 
-        List<ItemWithCommentDto> result = itemService.getPersonalItems(userWithoutItems.getId());
+        List<ItemWithCommentDto> result = itemService.getPersonalItems(userWithoutItems.getId(), 0, 10, null).items();
 
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void getAvailability_shouldMergeActiveBookingsAndClipThemToRange() {
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        bookingRepository.save(new Booking(item, booker, base.plusDays(1), base.plusDays(2), BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(item, booker, base.plusDays(2), base.plusDays(3), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(item, booker, base.plusDays(4), base.plusDays(5), BookingStatus.REJECTED));
+        bookingRepository.save(new Booking(item, booker, base.plusDays(6), base.plusDays(8), BookingStatus.APPROVED));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), base, base.plusDays(7));
+
+        assertThat(availability.busy()).containsExactly(
+                new TimeIntervalDto(base.plusDays(1), base.plusDays(3)),
+                new TimeIntervalDto(base.plusDays(6), base.plusDays(7)));
+        assertThat(availability.free()).containsExactly(
+                new TimeIntervalDto(base, base.plusDays(1)),
+                new TimeIntervalDto(base.plusDays(3), base.plusDays(6)));
+    }
+
+    @Test
+    void getAvailability_shouldReturnWholeRangeAsFreeWithoutBookings() {
+        LocalDateTime from = LocalDateTime.now().plusYears(1).withNano(0);
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), from, from.plusDays(1));
+
+        assertThat(availability.busy()).isEmpty();
+        assertThat(availability.free()).containsExactly(new TimeIntervalDto(from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailability_shouldThrowWhenRangeInvalidOrItemNotFound() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> itemService.getAvailability(item.getId(), now, now))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> itemService.getAvailability(999L, now, now.plusDays(1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
     @Test
     void updateItem_shouldUpdateItem() {
         UpdateItemRequest request = new UpdateItemRequest("Updated Drill", "Updated description", false);
@@ -190,7 +359,7 @@ class ItemServiceImplIntegrationTest {
 
     @Test
     void searchItems_shouldReturnMatchingItems() {
-        List<ItemDto> result = itemService.searchItems("drill");
+        List<ItemDto> result = itemService.searchItems(query("drill", 0, 10, null, false)).items();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().name()).isEqualTo("Drill");
@@ -198,28 +367,294 @@ class ItemServiceImplIntegrationTest {
 
     @Test
     void searchItems_shouldReturnEmptyListWhenNoMatches() {
-        List<ItemDto> result = itemService.searchItems("nonexistent");
+        List<ItemDto> result = itemService.searchItems(query("nonexistent", 0, 10, null, false)).items();
 
         assertThat(result).isEmpty();
     }
 
     @Test
     void searchItems_shouldReturnEmptyListWhenBlankText() {
-        List<ItemDto> result = itemService.searchItems("   ");
+        List<ItemDto> result = itemService.searchItems(query("   ", 0, 10, null, false)).items();
 
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void searchItems_shouldPageWithCursor() {
+        Item second = itemRepository.save(new Item("Drill 2", "Second drill", true, owner));
+        Item third = itemRepository.save(new Item("Drill 3", "Third drill", true, owner));
+
+        ItemSearchPage first = itemService.searchItems(query("drill", 0, 2, null, false));
+        assertThat(first.items()).extracting(ItemDto::id).containsExactly(item.getId(), second.getId());
+        assertThat(first.nextCursor()).isNotNull();
+
+        ItemSearchPage next = itemService.searchItems(query("drill", 0, 2, first.nextCursor(), false));
+        assertThat(next.items()).extracting(ItemDto::id).containsExactly(third.getId());
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchItems_shouldReturnAllMatchesWithoutSize() {
+        Item second = itemRepository.save(new Item("Drill 2", "Second drill", true, owner));
+
+        ItemSearchPage page = itemService.searchItems(query("drill", 0, Integer.MAX_VALUE, null, false));
+
+        assertThat(page.items()).extracting(ItemDto::id).containsExactly(item.getId(), second.getId());
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchItems_shouldSkipFromItems() {
+        Item second = itemRepository.save(new Item("Drill 2", "Second drill", true, owner));
+
+        ItemSearchPage page = itemService.searchItems(query("drill", 1, 1, null, false));
+
+        assertThat(page.items()).extracting(ItemDto::id).containsExactly(second.getId());
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void searchItems_shouldThrowWhenPageParametersInvalid() {
+        assertThatThrownBy(() -> itemService.searchItems(query("drill", -1, 10, null, false)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> itemService.searchItems(query("drill", 0, 0, null, false)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void searchItems_shouldThrowWhenCursorInvalid() {
+        assertThatThrownBy(() -> itemService.searchItems(query("drill", 0, 10, "not a cursor", false)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid search cursor: not a cursor");
+    }
+
+    @Test
+    void searchItems_shouldMatchMisspelledTextWhenFuzzy() {
+        Item hammer = itemRepository.save(new Item("Hammer", "Heavy hammer", true, owner));
+        Item drills = itemRepository.save(new Item("Drills", "Set of drills", true, owner));
+        try {
+            for (Item indexed : List.of(item, hammer, drills)) {
+                termIndex.put(indexed.getId(), indexed.getName(), indexed.getDescription(), true);
+            }
+            termIndex.markReady();
+
+            assertThat(itemService.searchItems(query("drils", 0, 10, null, false)).items()).isEmpty();
+
+            ItemSearchPage first = itemService.searchItems(query("drils", 0, 1, null, true));
+            assertThat(first.items()).extracting(ItemDto::id).containsExactly(item.getId());
+            assertThat(first.nextCursor()).isNotNull();
+
+            ItemSearchPage next = itemService.searchItems(query("drils", 0, 1, first.nextCursor(), true));
+            assertThat(next.items()).extracting(ItemDto::id).containsExactly(drills.getId());
+        } finally {
+            termIndex.clear();
+        }
+    }
+
+    @Test
+    void searchItems_shouldRankItemsByRelevanceAndMatchAnyTerm() {
+        Item bits = itemRepository.save(new Item("Drill bits", "Spare bits for drill", true, owner));
+        Item hammer = itemRepository.save(new Item("Hammer", "Heavy hammer", true, owner));
+        try {
+            for (Item indexed : List.of(item, bits, hammer)) {
+                termIndex.put(indexed.getId(), indexed.getName(), indexed.getDescription(), true);
+            }
+            termIndex.markReady();
+
+            ItemSearchPage ranked = itemService.searchItems(
+                    new ItemSearchQuery("bits", 0, 10, null, false, SearchOperator.AND, SearchSort.RELEVANCE));
+            assertThat(ranked.items()).extracting(ItemDto::id).containsExactly(bits.getId());
+
+            ItemSearchPage any = itemService.searchItems(
+                    new ItemSearchQuery("hammer bits", 0, 1, null, false, SearchOperator.OR, SearchSort.DEFAULT));
+            assertThat(any.items()).extracting(ItemDto::id).containsExactly(bits.getId());
+
+            ItemSearchPage next = itemService.searchItems(new ItemSearchQuery(
+                    "hammer bits", 0, 1, any.nextCursor(), false, SearchOperator.OR, SearchSort.DEFAULT));
+            assertThat(next.items()).extracting(ItemDto::id).containsExactly(hammer.getId());
+
+            assertThat(itemService.searchItems(
+                    new ItemSearchQuery("hammer bits", 0, 10, null, false, SearchOperator.AND, SearchSort.DEFAULT))
+                    .items()).isEmpty();
+        } finally {
+            termIndex.clear();
+        }
+    }
+
+    @Test
+    void searchItems_shouldMatchEveryWordAnywhereInTextWhenTermIndexReady() {
+        Item cordless = itemRepository.save(new Item("Drill, cordless", "Battery powered", true, owner));
+        Item saw = itemRepository.save(new Item("Cordless saw", "Circular saw", true, owner));
+        try {
+            for (Item indexed : List.of(item, cordless, saw)) {
+                termIndex.put(indexed.getId(), indexed.getName(), indexed.getDescription(), true);
+            }
+            termIndex.markReady();
+
+            assertThat(itemService.searchItems(query("cordless drill", 0, 10, null, false)).items())
+                    .extracting(ItemDto::id).containsExactly(cordless.getId());
+            assertThat(itemService.searchItems(query("drill", 0, 10, null, false)).items())
+                    .extracting(ItemDto::id).containsExactly(item.getId(), cordless.getId());
+        } finally {
+            termIndex.clear();
+        }
+    }
+
+    @Test
+    void searchItems_shouldThrowWhenTermIndexRequiredButNotReady() {
+        assertThatThrownBy(() -> itemService.searchItems(
+                new ItemSearchQuery("drill", 0, 10, null, false, SearchOperator.OR, SearchSort.DEFAULT)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("operator=OR requires the term index");
+        assertThatThrownBy(() -> itemService.searchItems(
+                new ItemSearchQuery("drill", 0, 10, null, false, SearchOperator.AND, SearchSort.RELEVANCE)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("sort=RELEVANCE requires the term index");
+    }
+
+    @Test
+    void searchItems_shouldThrowWhenFuzzyButTermIndexNotReady() {
+        assertThatThrownBy(() -> itemService.searchItems(query("drils", 0, 10, null, true)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("fuzzy=true requires the term index");
+    }
+
     @Test
     void searchItems_shouldNotReturnUnavailableItems() {
         Item unavailableItem = itemRepository.save(new Item("Broken Drill", "Not working", false, owner));
 
-        List<ItemDto> result = itemService.searchItems("drill");
+        List<ItemDto> result = itemService.searchItems(query("drill", 0, 10, null, false)).items();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().name()).isEqualTo("Drill");
     }
 
+    @Test
+    void searchFacets_shouldFilterAndCountAvailableItemsOfOtherOwners() {
+        Item answer = new Item("Drill bits", "Spare bits", true, anotherUser);
+        answer.setRequest(itemRequest);
+        answer = itemRepository.save(answer);
+        itemRepository.save(new Item("Broken drill", "Not working", false, owner));
+
+        ItemFacetPage page = itemService.searchFacets(
+                new ItemFacetQuery("DRILL", null, null, null, 0, 10), booker.getId());
+        assertThat(page.items()).extracting(ItemDto::id).containsExactly(item.getId(), answer.getId());
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.facets().owners()).containsExactly(
+                Map.entry(owner.getId(), 1), Map.entry(anotherUser.getId(), 1));
+        assertThat(page.facets().requests()).containsExactly(Map.entry(itemRequest.getId(), 1));
+        assertThat(page.facets().availability()).containsExactly(Map.entry(true, 2));
+
+        ItemFacetPage answered = itemService.searchFacets(
+                new ItemFacetQuery("", null, itemRequest.getId(), null, 0, 10), booker.getId());
+        assertThat(answered.items()).extracting(ItemDto::id).containsExactly(answer.getId());
+
+        ItemFacetPage hidden = itemService.searchFacets(
+                new ItemFacetQuery("drill", owner.getId(), null, false, 0, 10), booker.getId());
+        assertThat(hidden.items()).isEmpty();
+        assertThat(hidden.total()).isZero();
+    }
+
+    @Test
+    void searchFacets_shouldIncludeUnavailableItemsForOwnerAndMatchIndex() {
+        Item broken = itemRepository.save(new Item("Broken drill", "Not working", false, owner));
+        itemRepository.save(new Item("Drill bits", "Spare bits", true, anotherUser));
+        List<ItemFacetQuery> queries = List.of(
+                new ItemFacetQuery("drill", owner.getId(), null, null, 0, 10),
+                new ItemFacetQuery("drill", owner.getId(), null, false, 0, 10),
+                new ItemFacetQuery("drill", null, null, null, 1, 1),
+                new ItemFacetQuery("", null, null, null, 0, 10),
+                new ItemFacetQuery("saw", null, null, null, 0, 10));
+
+        ItemFacetPage own = itemService.searchFacets(queries.getFirst(), owner.getId());
+        assertThat(own.items()).extracting(ItemDto::id).containsExactly(item.getId(), broken.getId());
+        assertThat(own.facets().availability()).containsExactly(Map.entry(true, 1), Map.entry(false, 1));
+
+        List<ItemFacetPage> expected = queries.stream()
+                .map(query -> itemService.searchFacets(query, owner.getId()))
+                .toList();
+        try {
+            for (Item indexed : itemRepository.findAll()) {
+                facetIndex.put(indexed.getId(), indexed.getName(), indexed.getDescription(),
+                        indexed.getOwner().getId(), null, indexed.getAvailable());
+            }
+            facetIndex.markReady();
+
+            assertThat(queries.stream().map(query -> itemService.searchFacets(query, owner.getId())).toList())
+                    .isEqualTo(expected);
+        } finally {
+            facetIndex.clear();
+        }
+    }
+
+    @Test
+    void searchFacets_shouldThrowWhenPageParametersInvalid() {
+        assertThatThrownBy(() -> itemService.searchFacets(
+                new ItemFacetQuery("drill", null, null, null, -1, 10), owner.getId()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> itemService.searchFacets(
+                new ItemFacetQuery("drill", null, null, null, 0, 0), owner.getId()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void streamSearchItems_shouldStreamSameItemsAsSearch() {
+        itemRepository.save(new Item("Drill 2", "Second drill", true, owner));
+        itemRepository.save(new Item("Broken Drill", "Not working", false, owner));
+
+        List<ItemDto> streamed = new ArrayList<>();
+        itemService.streamSearchItems("drill").forEach(streamed::add);
+
+        assertThat(streamed)
+                .isEqualTo(itemService.searchItems(query("drill", 0, 10, null, false)).items());
+    }
+
+    @Test
+    void streamSearchItems_shouldStreamNothingWhenBlankText() {
+        List<ItemDto> streamed = new ArrayList<>();
+        itemService.streamSearchItems("  ").forEach(streamed::add);
+
+        assertThat(streamed).isEmpty();
+    }
+
+    @Test
+    void streamPersonalItems_shouldStreamSameItemsAsList() {
+        itemRepository.save(new Item("Hammer", "Heavy hammer", true, owner));
+        itemService.addComment(item.getId(), booker.getId(), new NewCommentRequest("Good item!"));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemWithCommentDto> expected = itemService.getPersonalItems(owner.getId(), 0, 10, null).items();
+        List<ItemWithCommentDto> streamed = new ArrayList<>();
+        itemService.streamPersonalItems(owner.getId()).forEach(streamed::add);
+
+        assertThat(streamed).isEqualTo(expected);
+    }
+
+    @Test
+    void streamPersonalItems_shouldThrowWhenUserNotFound() {
+        assertThatThrownBy(() -> itemService.streamPersonalItems(999L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void suggestItemNames_shouldReturnAvailableNamesByPrefix() {
+        itemRepository.save(new Item("Drill", "Second drill", true, owner));
+        itemRepository.save(new Item("Drill press", "Bench drill", true, owner));
+        itemRepository.save(new Item("Dress", "Not available", false, owner));
+
+        assertThat(itemService.suggestItemNames("dr", 10)).containsExactly("Drill", "Drill press");
+        assertThat(itemService.suggestItemNames("DR", 1)).containsExactly("Drill");
+        assertThat(itemService.suggestItemNames(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestItemNames_shouldThrowWhenSizeInvalid() {
+        assertThatThrownBy(() -> itemService.suggestItemNames("dr", 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     void getItemByIdOrThrow_shouldReturnItem() {
         Item result = itemService.getItemByIdOrThrow(item.getId());
@@ -309,7 +744,7 @@ class ItemServiceImplIntegrationTest {
         entityManager.flush();
         entityManager.clear();
 
-        List<ItemWithCommentDto> result = itemService.getPersonalItems(owner.getId());
+        List<ItemWithCommentDto> result = itemService.getPersonalItems(owner.getId(), 0, 10, null).items();
 
         assertThat(result).hasSize(1);
 
@@ -317,4 +752,18 @@ class ItemServiceImplIntegrationTest {
         assertThat(itemDto.comments()).hasSize(1);
         assertThat(itemDto.comments().getFirst().text()).isEqualTo("Good item!");
     }
-}
\ No newline at end of file
+
+    private static ItemSearchQuery query(String text, int from, int size, String cursor, boolean fuzzy) {
+        return new ItemSearchQuery(text, from, size, cursor, fuzzy, SearchOperator.AND, SearchSort.DEFAULT);
+    }
+
+    private void addComments(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(item, booker, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED));
+        for (int i = 1; i <= count; i++) {
+            itemService.addComment(item.getId(), booker.getId(), new NewCommentRequest("Comment " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}